@@ -0,0 +1,126 @@
+package com.example.querydsl.bench;
+
+import com.example.querydsl.QuerydslApplication;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.Shop;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.repo.ShopRepository;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// 벤치마크용 최소 JPA 컨텍스트 (웹 서버 없이)
+// : database = h2 | sqlite, 지정한 갯수만큼 Item을 채운다.
+public class BenchmarkContext implements AutoCloseable {
+  public static final int SHOPS = 20;
+
+  private final ConfigurableApplicationContext context;
+  private final TransactionTemplate readOnly;
+  private final TransactionTemplate readWrite;
+
+  public BenchmarkContext(String database, String... extraArgs) {
+    List<String> args = new ArrayList<>(List.of(
+      // application.yaml의 dev 프로필 대신
+      "--spring.profiles.active=bench",
+      "--spring.jpa.hibernate.ddl-auto=create",
+      "--spring.jpa.show-sql=false",
+      "--spring.sql.init.mode=never",
+      "--logging.level.root=warn"
+    ));
+    switch (database) {
+      case "h2" -> args.addAll(List.of(
+        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+      ));
+      case "sqlite" -> {
+        File file = new File("build/jmh/bench.sqlite");
+        file.getParentFile().mkdirs();
+        file.delete();
+        args.addAll(List.of(
+          "--spring.datasource.url=jdbc:sqlite:" + file.getPath(),
+          "--spring.datasource.driver-class-name=org.sqlite.JDBC",
+          "--spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect"
+        ));
+      }
+      default -> throw new IllegalArgumentException("unknown database: " + database);
+    }
+    args.addAll(List.of(extraArgs));
+
+    context = new SpringApplicationBuilder(QuerydslApplication.class)
+      .web(WebApplicationType.NONE)
+      .run(args.toArray(String[]::new));
+
+    PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    readWrite = new TransactionTemplate(transactionManager);
+  }
+
+  public <T> T getBean(Class<T> type) {
+    return context.getBean(type);
+  }
+
+  public JPAQueryFactory queryFactory() {
+    return getBean(JPAQueryFactory.class);
+  }
+
+  public ItemRepository itemRepository() {
+    return getBean(ItemRepository.class);
+  }
+
+  // 읽기 전용 트랜잭션 안에서 실행 (끝나면 영속성 컨텍스트도 닫힌다.)
+  public <T> T read(Supplier<T> work) {
+    return readOnly.execute(status -> work.get());
+  }
+
+  public <T> T write(Supplier<T> work) {
+    return readWrite.execute(status -> work.get());
+  }
+
+  // SHOPS개의 Shop과 rows개의 Item을 채운다. (price: 1000 ~ 100999, name: 100종류)
+  public void seed(int rows) {
+    Random random = new Random(42);
+    List<Shop> shops = write(() -> getBean(ShopRepository.class).saveAll(
+      IntStream.range(0, SHOPS)
+        .mapToObj(i -> Shop.builder().name("shop" + i).description("shop " + i).build())
+        .toList()
+    ));
+
+    int batch = 1000;
+    for (int from = 0; from < rows; from += batch) {
+      int to = Math.min(rows, from + batch);
+      List<Item> items = new ArrayList<>(to - from);
+      for (int i = from; i < to; i++) {
+        items.add(Item.builder()
+          .shop(shops.get(random.nextInt(SHOPS)))
+          .name("item" + random.nextInt(100))
+          .description("description of item " + i)
+          .price(1000 + random.nextInt(100_000))
+          .stock(random.nextInt(1000))
+          .build());
+      }
+      write(() -> {
+        itemRepository().saveAll(items);
+        getBean(EntityManager.class).clear();
+        return null;
+      });
+    }
+  }
+
+  @Override
+  public void close() {
+    context.close();
+  }
+}
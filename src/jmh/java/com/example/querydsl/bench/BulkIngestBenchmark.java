@@ -0,0 +1,71 @@
+package com.example.querydsl.bench;
+
+import com.example.querydsl.dto.ItemCreateDto;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.service.ItemBulkService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Item 1건씩 save(IDENTITY, INSERT 한번에 하나) vs JDBC batch INSERT
+// : 처리량(ops/s) x batch 크기 = rows/s
+// ./gradlew jmh -PjmhInclude=BulkIngestBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkIngestBenchmark {
+  @Param({"h2", "sqlite"})
+  public String database;
+  // 한번의 호출로 등록하는 행 수
+  @Param({"1000"})
+  public int batch;
+
+  private BenchmarkContext context;
+  private ItemRepository itemRepository;
+  private ItemBulkService bulkService;
+  private EntityManager entityManager;
+  private List<ItemCreateDto> rows;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new BenchmarkContext(database);
+    itemRepository = context.itemRepository();
+    bulkService = context.getBean(ItemBulkService.class);
+    entityManager = context.getBean(EntityManager.class);
+
+    rows = new ArrayList<>(batch);
+    for (int i = 0; i < batch; i++) {
+      rows.add(new ItemCreateDto("item" + i, "description of item " + i, 1000 + i, i % 100, null));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void perEntitySave() {
+    context.write(() -> {
+      for (ItemCreateDto row : rows) {
+        itemRepository.save(Item.builder()
+          .name(row.getName())
+          .description(row.getDescription())
+          .price(row.getPrice())
+          .stock(row.getStock())
+          .build());
+      }
+      entityManager.clear();
+      return null;
+    });
+  }
+
+  @Benchmark
+  public void jdbcBatch() {
+    bulkService.ingest(rows);
+  }
+}
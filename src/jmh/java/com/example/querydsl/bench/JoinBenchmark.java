@@ -0,0 +1,68 @@
+package com.example.querydsl.bench;
+
+import com.example.querydsl.entity.Item;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.querydsl.entity.QItem.item;
+
+// 일반 join vs fetch join
+// : 조회한 Item의 Shop 이름까지 읽는 경우, 일반 join은 Shop마다 추가 SELECT(N+1)가 발생한다.
+// ./gradlew jmh -PjmhInclude=JoinBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JoinBenchmark {
+  @Param({"h2", "sqlite"})
+  public String database;
+  @Param({"10000"})
+  public int rows;
+  @Param({"500"})
+  public int limit;
+
+  private BenchmarkContext context;
+  private JPAQueryFactory queryFactory;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new BenchmarkContext(database);
+    context.seed(rows);
+    queryFactory = context.queryFactory();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void join(Blackhole blackhole) {
+    context.read(() -> {
+      List<Item> items = queryFactory
+        .selectFrom(item)
+        .join(item.shop)
+        .limit(limit)
+        .fetch();
+      items.forEach(found -> blackhole.consume(found.getShop().getName()));
+      return null;
+    });
+  }
+
+  @Benchmark
+  public void fetchJoin(Blackhole blackhole) {
+    context.read(() -> {
+      List<Item> items = queryFactory
+        .selectFrom(item)
+        .join(item.shop)
+        .fetchJoin()
+        .limit(limit)
+        .fetch();
+      items.forEach(found -> blackhole.consume(found.getShop().getName()));
+      return null;
+    });
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.querydsl.bench;
+
+import com.example.querydsl.dto.ItemDto;
+import com.example.querydsl.dto.ItemDtoProj;
+import com.example.querydsl.dto.QItemDtoProj;
+import com.example.querydsl.entity.Item;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.querydsl.entity.QItem.item;
+
+// Entity / Tuple / Projections.bean / fields / constructor / @QueryProjection 비교
+// ./gradlew jmh -PjmhInclude=ProjectionBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectionBenchmark {
+  @Param({"h2", "sqlite"})
+  public String database;
+  @Param({"10000"})
+  public int rows;
+  // 한번에 조회하는 행 수
+  @Param({"1000"})
+  public int limit;
+
+  private BenchmarkContext context;
+  private JPAQueryFactory queryFactory;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new BenchmarkContext(database);
+    context.seed(rows);
+    queryFactory = context.queryFactory();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Item> entity() {
+    return context.read(() -> queryFactory
+      .selectFrom(item)
+      .limit(limit)
+      .fetch());
+  }
+
+  @Benchmark
+  public List<Tuple> tuple() {
+    return context.read(() -> queryFactory
+      .select(item.name, item.price, item.stock)
+      .from(item)
+      .limit(limit)
+      .fetch());
+  }
+
+  @Benchmark
+  public List<ItemDto> bean() {
+    return context.read(() -> queryFactory
+      .select(Projections.bean(ItemDto.class, item.name, item.price.as("cost"), item.stock))
+      .from(item)
+      .limit(limit)
+      .fetch());
+  }
+
+  @Benchmark
+  public List<ItemDto> fields() {
+    return context.read(() -> queryFactory
+      .select(Projections.fields(ItemDto.class, item.name, item.price.as("cost"), item.stock))
+      .from(item)
+      .limit(limit)
+      .fetch());
+  }
+
+  @Benchmark
+  public List<ItemDto> constructor() {
+    return context.read(() -> queryFactory
+      .select(Projections.constructor(ItemDto.class, item.name, item.price, item.stock))
+      .from(item)
+      .limit(limit)
+      .fetch());
+  }
+
+  @Benchmark
+  public List<ItemDtoProj> queryProjection() {
+    return context.read(() -> queryFactory
+      .select(new QItemDtoProj(item.name, item.price, item.stock))
+      .from(item)
+      .limit(limit)
+      .fetch());
+  }
+}
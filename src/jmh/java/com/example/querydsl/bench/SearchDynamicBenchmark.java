@@ -0,0 +1,71 @@
+package com.example.querydsl.bench;
+
+import com.example.querydsl.cache.ItemCountCache;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ItemQuerydslRepo.searchDynamic 두가지(List, Page) 비교
+// + Page의 Count 쿼리를 순서대로 / 동시에 실행했을 때의 지연시간 비교 (paged, SampleTime)
+// ./gradlew jmh -PjmhInclude=SearchDynamicBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SearchDynamicBenchmark {
+  @Param({"h2", "sqlite"})
+  public String database;
+  @Param({"10000"})
+  public int rows;
+  // 몇번째 페이지를 조회하는지 (size 20)
+  @Param({"1", "100"})
+  public int page;
+  // Count 쿼리를 content 조회와 동시에 실행하는지 (item.search.parallel-count)
+  @Param({"false", "true"})
+  public boolean parallelCount;
+
+  private BenchmarkContext context;
+  private ItemRepository itemRepository;
+  private ItemCountCache countCache;
+  private ItemSearchParams searchParams;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new BenchmarkContext(database, "--item.search.parallel-count=" + parallelCount);
+    context.seed(rows);
+    itemRepository = context.itemRepository();
+    countCache = context.getBean(ItemCountCache.class);
+
+    // 전체의 약 1/4 (priceFloor ~ priceCeil)
+    searchParams = new ItemSearchParams();
+    searchParams.setPriceFloor(10_000);
+    searchParams.setPriceCeil(35_000);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Item> list() {
+    return context.read(() -> itemRepository.searchDynamic(searchParams));
+  }
+
+  // Count 캐시 없이 매번 Count 쿼리까지 실행
+  @Benchmark
+  public Page<Item> paged() {
+    countCache.clear();
+    return context.read(() -> itemRepository.searchDynamic(searchParams, PageRequest.of(page, 20)));
+  }
+
+  @Benchmark
+  public Page<Item> pagedCountCached() {
+    return context.read(() -> itemRepository.searchDynamic(searchParams, PageRequest.of(page, 20)));
+  }
+}
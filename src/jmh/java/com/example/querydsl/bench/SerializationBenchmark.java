@@ -0,0 +1,62 @@
+package com.example.querydsl.bench;
+
+import com.example.querydsl.dto.ItemDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// /search 응답(List<ItemDto>)의 직렬화 시간과 크기: JSON vs CBOR vs Smile
+// : 크기(bytes)는 Setup에서 한번 출력한다.
+// : DB를 거치지 않으므로 Spring Context를 띄우지 않는다.
+// ./gradlew jmh -PjmhInclude=SerializationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmark {
+  @Param({"json", "cbor", "smile"})
+  public String format;
+  @Param({"10000"})
+  public int rows;
+
+  private ObjectMapper objectMapper;
+  private List<ItemDto> items;
+  private byte[] encoded;
+  private final TypeReference<List<ItemDto>> listType = new TypeReference<>() {};
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    objectMapper = switch (format) {
+      case "json" -> new ObjectMapper();
+      case "cbor" -> new ObjectMapper(new CBORFactory());
+      case "smile" -> new ObjectMapper(new SmileFactory());
+      default -> throw new IllegalArgumentException(format);
+    };
+    // BenchmarkContext.seed와 같은 모양의 데이터
+    Random random = new Random(42);
+    items = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      items.add(new ItemDto("item" + random.nextInt(100), 1000 + random.nextInt(100_000), random.nextInt(1000)));
+    }
+    encoded = objectMapper.writeValueAsBytes(items);
+    System.out.printf("%n%s: %d items -> %d bytes (%.1f bytes/item)%n",
+      format, rows, encoded.length, (double) encoded.length / rows);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return objectMapper.writeValueAsBytes(items);
+  }
+
+  @Benchmark
+  public List<ItemDto> deserialize() throws IOException {
+    return objectMapper.readValue(encoded, listType);
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.querydsl.bench;
+
+import com.example.querydsl.dto.ItemDto;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.index.ItemNameIndex;
+import com.example.querydsl.service.ItemSuggestService;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.querydsl.entity.QItem.item;
+
+// 자동 완성: 메모리 색인(ItemNameIndex) vs SQL LIKE
+// - index*: 색인에서 후보 id -> DB에서 id IN (...)으로 DTO 조회 (/suggest와 같은 경로)
+// - indexOnly*: 색인 조회만
+// - like*: LIKE 'q%' / LIKE '%q%'
+// ./gradlew jmh -PjmhInclude=SuggestBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SuggestBenchmark {
+  @Param({"h2", "sqlite"})
+  public String database;
+  @Param({"10000"})
+  public int rows;
+  // seed의 이름은 item0 ~ item99
+  @Param({"item4"})
+  public String prefix;
+  @Param({"em42"})
+  public String substring;
+  @Param({"10"})
+  public int limit;
+
+  private BenchmarkContext context;
+  private JPAQueryFactory queryFactory;
+  private ItemNameIndex itemNameIndex;
+  private ItemSuggestService suggestService;
+  private final ItemSearchParams noFilter = new ItemSearchParams();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new BenchmarkContext(database);
+    context.seed(rows);
+    queryFactory = context.queryFactory();
+    itemNameIndex = context.getBean(ItemNameIndex.class);
+    suggestService = context.getBean(ItemSuggestService.class);
+    itemNameIndex.rebuild();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<ItemDto> indexPrefix() {
+    return suggestService.suggest(prefix, false, noFilter, limit);
+  }
+
+  @Benchmark
+  public List<ItemDto> indexContains() {
+    return suggestService.suggest(substring, true, noFilter, limit);
+  }
+
+  @Benchmark
+  public List<Long> indexOnlyPrefix() {
+    return itemNameIndex.startsWith(prefix, limit);
+  }
+
+  @Benchmark
+  public List<Long> indexOnlyContains() {
+    return itemNameIndex.contains(substring, limit);
+  }
+
+  @Benchmark
+  public List<ItemDto> likePrefix() {
+    return context.read(() -> queryFactory
+      .select(Projections.constructor(ItemDto.class, item.name, item.price, item.stock))
+      .from(item)
+      .where(item.name.startsWithIgnoreCase(prefix))
+      .orderBy(item.name.asc(), item.id.asc())
+      .limit(limit)
+      .fetch());
+  }
+
+  @Benchmark
+  public List<ItemDto> likeContains() {
+    return context.read(() -> queryFactory
+      .select(Projections.constructor(ItemDto.class, item.name, item.price, item.stock))
+      .from(item)
+      .where(item.name.containsIgnoreCase(substring))
+      .orderBy(item.name.asc(), item.id.asc())
+      .limit(limit)
+      .fetch());
+  }
+}
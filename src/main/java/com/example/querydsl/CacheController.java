@@ -0,0 +1,55 @@
+package com.example.querydsl;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Hibernate 2차 캐시 / 쿼리 캐시 통계 (hibernate.generate_statistics)
+@RestController
+@RequiredArgsConstructor
+public class CacheController {
+  private final EntityManagerFactory entityManagerFactory;
+
+  // region 별 hit / miss / put, hit 비율
+  @GetMapping("/cache/stats")
+  public Map<String, Object> stats() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    Map<String, Object> regions = new LinkedHashMap<>();
+    for (String region : statistics.getSecondLevelCacheRegionNames()) {
+      CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+      if (regionStatistics == null) continue;
+      regions.put(region, Map.of(
+        "hitCount", regionStatistics.getHitCount(),
+        "missCount", regionStatistics.getMissCount(),
+        "putCount", regionStatistics.getPutCount(),
+        "hitRatio", hitRatio(regionStatistics.getHitCount(), regionStatistics.getMissCount()),
+        "elementCountInMemory", regionStatistics.getElementCountInMemory()
+      ));
+    }
+
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("secondLevelCacheHitRatio", hitRatio(
+      statistics.getSecondLevelCacheHitCount(),
+      statistics.getSecondLevelCacheMissCount()
+    ));
+    stats.put("queryCacheHitRatio", hitRatio(
+      statistics.getQueryCacheHitCount(),
+      statistics.getQueryCacheMissCount()
+    ));
+    stats.put("regions", regions);
+    return stats;
+  }
+
+  private static double hitRatio(long hits, long misses) {
+    long total = hits + misses;
+    return total == 0 ? 0 : (double) hits / total;
+  }
+}
@@ -1,19 +1,50 @@
 package com.example.querydsl;
 
+import com.example.querydsl.cache.ItemSearchCache;
+import com.example.querydsl.cache.ItemWriteVersion;
+import com.example.querydsl.dto.CursorPage;
+import com.example.querydsl.dto.ItemChangeCursor;
+import com.example.querydsl.dto.ItemChangePage;
+import com.example.querydsl.dto.ItemCursor;
 import com.example.querydsl.dto.ItemDto;
 import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.dto.ItemShopDto;
+import com.example.querydsl.export.ExportFormat;
+import com.example.querydsl.export.ItemExportService;
+import com.example.querydsl.repo.ItemQuerydslRepo;
 import com.example.querydsl.repo.ItemRepository;
 import com.example.querydsl.repo.QueryDslRepo;
+import com.example.querydsl.service.ItemChangeFeedService;
+import com.example.querydsl.service.ItemSearchService;
+import com.example.querydsl.service.ItemStreamService;
+import com.example.querydsl.service.ItemSuggestService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 @Slf4j
 @RestController
@@ -21,17 +52,31 @@ import java.util.stream.Collectors;
 public class ItemController {
   private final ItemRepository itemRepository;
   private final QueryDslRepo queryDslRepo;
+  private final ItemStreamService itemStreamService;
+  private final ItemSearchService itemSearchService;
+  private final ItemSearchCache itemSearchCache;
+  private final ItemSuggestService itemSuggestService;
+  private final ItemWriteVersion itemWriteVersion;
+  private final ItemChangeFeedService itemChangeFeedService;
+  private final ItemExportService itemExportService;
+  // 내보내기 요청의 시간 제한 (0이면 제한 없음)
+  @Value("${item.export.timeout:1h}")
+  private Duration exportTimeout;
+  // 스트리밍 검색 요청의 시간 제한 (0이면 제한 없음)
+  @Value("${item.stream.timeout:1h}")
+  private Duration streamTimeout;
 
   @GetMapping("/search")
   public List<ItemDto> search(
     // 아무런 어노테이션이 없다면 Query Parameter로 받아온다.
     // Ex. /search?name=name&priceFloor=1&priceCeil=10
-    ItemSearchParams searchParams
+    ItemSearchParams searchParams,
+    WebRequest webRequest
   ) {
-    return itemRepository.searchDynamic(searchParams)
-      .stream()
-      .map(ItemDto::fromEntity)
-      .collect(Collectors.toList());
+    // 마지막으로 받아간 뒤 Item이 바뀌지 않았다면 검색하지 않고 304 (If-None-Match)
+    if (itemWriteVersion.checkNotModified(webRequest)) return null;
+    // Entity를 거치지 않고 바로 ItemDto로 조회한다. (검색 결과 캐시를 거친다.)
+    return itemSearchService.search(searchParams);
   }
 
   @GetMapping("/search-p")
@@ -41,9 +86,154 @@ public class ItemController {
     ItemSearchParams searchParams,
     // page + size query parameter를 바탕으로 만들어진다.
     @PageableDefault(size = 5)
+    Pageable pageable,
+    WebRequest webRequest
+  ) {
+    if (itemWriteVersion.checkNotModified(webRequest)) return null;
+    return itemSearchService.search(searchParams, pageable);
+  }
+
+  @GetMapping("/search-shop")
+  public Page<ItemShopDto> searchWithShop(
+    // Shop 정보를 포함한 검색
+    // /search-shop?shopName=shopA&priceFloor=1&page=0&size=20
+    ItemSearchParams searchParams,
+    @PageableDefault(size = 5)
     Pageable pageable
   ) {
-    return itemRepository.searchDynamic(searchParams, pageable)
+    return itemSearchService.searchWithShop(searchParams, pageable);
+  }
+
+  // 자동 완성: 이름이 q로 시작하는(contains=true면 포함하는) Item
+  // /suggest?q=app&limit=10&priceCeil=5000
+  @GetMapping("/suggest")
+  public List<ItemDto> suggest(
+    @RequestParam("q")
+    String query,
+    @RequestParam(value = "contains", defaultValue = "false")
+    Boolean contains,
+    @RequestParam(value = "limit", defaultValue = "10")
+    Integer limit,
+    ItemSearchParams searchParams
+  ) {
+    if (query.isBlank() || limit < 1 || limit > 100)
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q is required and limit must be between 1 and 100");
+    return itemSuggestService.suggest(query, contains, searchParams, limit);
+  }
+
+  // 검색 결과 캐시의 hit / miss 통계
+  @GetMapping("/search/cache-stats")
+  public Map<String, Object> searchCacheStats() {
+    CacheStats stats = itemSearchCache.stats();
+    return Map.of(
+      "size", itemSearchCache.size(),
+      "hitCount", stats.hitCount(),
+      "missCount", stats.missCount(),
+      "hitRate", stats.hitRate(),
+      "evictionCount", stats.evictionCount()
+    );
+  }
+
+  @GetMapping("/search-stream")
+  public WebAsyncTask<Void> searchStream(
+    // /search-stream?priceFloor=1&priceCeil=10
+    // 결과를 한 줄에 하나씩 JSON으로 내려준다. (application/x-ndjson)
+    ItemSearchParams searchParams,
+    HttpServletResponse response
+  ) {
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    // 요청 스레드가 아닌 별도의 스레드에서 응답을 쓴다.
+    // : 내보내기(/items/export)처럼 기본 비동기 요청 시간 제한 대신 item.stream.timeout을 받는다.
+    Callable<Void> task = () -> {
+      itemStreamService.writeNdjson(searchParams, response.getOutputStream());
+      response.flushBuffer();
+      return null;
+    };
+    return new WebAsyncTask<>(streamTimeout.toMillis(), task);
+  }
+
+  @GetMapping("/items/export")
+  public WebAsyncTask<Void> export(
+    // 전체 Item (또는 검색 조건에 맞는 Item)을 파일로 내려받는다.
+    // /items/export?format=CSV&gzip=true&priceFloor=1000
+    // format: CSV | COLUMNAR
+    ItemSearchParams searchParams,
+    @RequestParam(value = "format", defaultValue = "CSV")
+    ExportFormat format,
+    @RequestParam(value = "gzip", defaultValue = "false")
+    Boolean gzip,
+    HttpServletResponse response
+  ) {
+    String fileName = "items" + format.extension() + (gzip ? ".gz" : "");
+    response.setContentType(gzip ? "application/gzip" : format.contentType());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+    // StreamingResponseBody는 기본 비동기 요청 시간 제한(spring.mvc.async.request-timeout, 없으면 Tomcat 30초)을 받으므로
+    // 큰 내보내기는 도중에 끊긴다. WebAsyncTask로 이 요청만 따로 시간 제한을 준다.
+    Callable<Void> task = () -> {
+      itemExportService.export(searchParams, format, gzip, response.getOutputStream());
+      response.flushBuffer();
+      return null;
+    };
+    return new WebAsyncTask<>(exportTimeout.toMillis(), task);
+  }
+
+  @GetMapping("/search-cursor")
+  public CursorPage<ItemDto> searchCursor(
+    // /search-cursor?priceFloor=1&sort=PRICE&size=5
+    // 다음 페이지: /search-cursor?priceFloor=1&cursor={nextCursor}
+    ItemSearchParams searchParams,
+    @RequestParam(value = "cursor", required = false)
+    String cursor,
+    @RequestParam(value = "sort", defaultValue = "PRICE")
+    ItemCursor.SortKey sort,
+    @RequestParam(value = "size", defaultValue = "5")
+    Integer size
+  ) {
+    ItemCursor decoded;
+    try {
+      decoded = cursor == null ? null : ItemCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+    if (size < 1 || size > ItemQuerydslRepo.MAX_CURSOR_SIZE)
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + ItemQuerydslRepo.MAX_CURSOR_SIZE);
+
+    return itemRepository.searchCursor(searchParams, decoded, sort, size)
       .map(ItemDto::fromEntity);
   }
+
+  // 변경 피드: since 이후에 추가/수정/삭제된 Item
+  // /items/changes?since=2024-02-07T14:40:00&size=100
+  // 다음 페이지, 다음 동기화: /items/changes?cursor={cursor}
+  // 보관 기간이 지난 커서(또는 since)는 410 Gone: 처음부터 다시 동기화해야 한다.
+  @GetMapping("/items/changes")
+  public ItemChangePage changes(
+    @RequestParam(value = "since", required = false)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    LocalDateTime since,
+    @RequestParam(value = "cursor", required = false)
+    String cursor,
+    @RequestParam(value = "size", defaultValue = "100")
+    Integer size
+  ) {
+    if (size < 1 || size > 1000)
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and 1000");
+    if (cursor == null) {
+      if (since == null)
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "since or cursor is required");
+      return itemChangeFeedService.changes(since, size);
+    }
+    ItemChangeCursor decoded;
+    try {
+      decoded = ItemChangeCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+    return itemChangeFeedService.changes(decoded, size);
+  }
+
+  @ExceptionHandler(ItemChangeFeedService.ExpiredException.class)
+  public ResponseEntity<String> changesExpired(ItemChangeFeedService.ExpiredException e) {
+    return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+  }
 }
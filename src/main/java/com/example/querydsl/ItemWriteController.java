@@ -0,0 +1,194 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.BulkResult;
+import com.example.querydsl.dto.ItemCreateDto;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.dto.ItemWriteResult;
+import com.example.querydsl.dto.ReservationResult;
+import com.example.querydsl.dto.StockReservation;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.service.ItemBulkService;
+import com.example.querydsl.service.ItemWriteQueue;
+import com.example.querydsl.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+// Item을 변경하는 기능들의 컨트롤러 (조회는 ItemController)
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ItemWriteController {
+  // 가격 인상 상한 (가격 * (100 + percent)가 넘치지 않도록)
+  private static final int MAX_PERCENT = 1000;
+
+  private final ItemBulkService itemBulkService;
+  private final ItemRepository itemRepository;
+  private final StockReservationService stockReservationService;
+  private final ItemWriteQueue itemWriteQueue;
+
+  // 등록 (쓰기 큐를 거쳐 다른 요청들과 함께 커밋된다.)
+  // POST /items
+  // {"name": "item", "price": 1000, "stock": 10, "shopId": 1}
+  // : CompletableFuture를 반환하면 커밋될 때까지 요청 스레드를 붙잡지 않는다. (비동기 응답)
+  @PostMapping("/items")
+  public CompletableFuture<ResponseEntity<ItemWriteResult>> create(
+    @RequestBody
+    ItemCreateDto dto
+  ) {
+    return queued(itemWriteQueue.insert(dto), HttpStatus.CREATED);
+  }
+
+  // 수정 (null이 아닌 값만)
+  // PATCH /items/1
+  // {"price": 2000}
+  @PatchMapping("/items/{id}")
+  public CompletableFuture<ResponseEntity<ItemWriteResult>> update(
+    @PathVariable("id")
+    Long id,
+    @RequestBody
+    ItemCreateDto dto
+  ) {
+    return queued(itemWriteQueue.update(id, dto), HttpStatus.OK);
+  }
+
+  // 큐가 가득 차면 503 (잠시 뒤 다시 시도), 없는 Item이면 404
+  private CompletableFuture<ResponseEntity<ItemWriteResult>> queued(
+    CompletableFuture<ItemWriteResult> future,
+    HttpStatus status
+  ) {
+    return future
+      .thenApply(result -> ResponseEntity.status(status).body(result))
+      .exceptionally(e -> {
+        Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+        if (cause instanceof NoSuchElementException)
+          throw new ResponseStatusException(HttpStatus.NOT_FOUND, cause.getMessage());
+        throw new CompletionException(cause);
+      });
+  }
+
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ResponseEntity<String> queueFull(RejectedExecutionException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+  }
+
+  // 대량 등록
+  // POST /items/bulk
+  // [{"name": "item", "price": 1000, "stock": 10, "shopId": 1}, ...]
+  @PostMapping("/items/bulk")
+  public BulkResult bulkInsert(
+    @RequestBody
+    List<ItemCreateDto> items
+  ) {
+    try {
+      return itemBulkService.ingest(items);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+
+  // 검색 조건에 맞는 Item들의 가격을 percent% 만큼 변경 (음수면 인하)
+  // PATCH /items/bulk/price?percent=5&priceFloor=1000&priceCeil=5000
+  // 전체 Item을 변경하려면 조건 대신 all=true를 명시한다.
+  @PatchMapping("/items/bulk/price")
+  public BulkResult bulkPrice(
+    ItemSearchParams searchParams,
+    @RequestParam("percent")
+    Integer percent,
+    @RequestParam(value = "all", defaultValue = "false")
+    Boolean all
+  ) {
+    requireFilter(searchParams, all);
+    if (percent <= -100 || percent > MAX_PERCENT)
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "percent must be in (-100, " + MAX_PERCENT + "]");
+    long start = System.nanoTime();
+    return BulkResult.of(itemRepository.updatePriceByPercent(searchParams, percent), start);
+  }
+
+  // 검색 조건에 맞는 Item들의 재고를 stock으로 변경
+  // PATCH /items/bulk/stock?stock=0&shopId=1
+  // 전체 Item을 변경하려면 조건 대신 all=true를 명시한다.
+  @PatchMapping("/items/bulk/stock")
+  public BulkResult bulkStock(
+    ItemSearchParams searchParams,
+    @RequestParam("stock")
+    Integer stock,
+    @RequestParam(value = "all", defaultValue = "false")
+    Boolean all
+  ) {
+    requireFilter(searchParams, all);
+    if (stock < 0)
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "stock must not be negative");
+    long start = System.nanoTime();
+    return BulkResult.of(itemRepository.updateStock(searchParams, stock), start);
+  }
+
+  // 검색 조건에 맞는 Item들을 삭제
+  // DELETE /items/bulk?shopId=1
+  @DeleteMapping("/items/bulk")
+  public BulkResult bulkDelete(
+    ItemSearchParams searchParams
+  ) {
+    // 조건 없이 전체가 삭제되는 것을 막는다.
+    if (!searchParams.hasFilter())
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at least one search condition is required");
+    long start = System.nanoTime();
+    return BulkResult.of(itemRepository.deleteDynamic(searchParams), start);
+  }
+
+  // 재고 예약 (재고가 부족하면 409 Conflict)
+  // POST /items/1/reserve?quantity=2
+  @PostMapping("/items/{id}/reserve")
+  public ResponseEntity<ReservationResult.Line> reserve(
+    @PathVariable("id")
+    Long id,
+    @RequestParam(value = "quantity", defaultValue = "1")
+    Integer quantity
+  ) {
+    if (quantity < 1)
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quantity must be positive");
+    boolean reserved = itemRepository.reserveStock(id, quantity);
+    return ResponseEntity
+      .status(reserved ? HttpStatus.OK : HttpStatus.CONFLICT)
+      .body(new ReservationResult.Line(id, quantity, reserved));
+  }
+
+  // 여러 Item의 재고를 한번에 예약
+  // POST /items/reserve?allOrNothing=true
+  // [{"itemId": 1, "quantity": 2}, {"itemId": 3, "quantity": 1}]
+  @PostMapping("/items/reserve")
+  public ReservationResult reserveAll(
+    @RequestBody
+    List<StockReservation> reservations,
+    @RequestParam(value = "allOrNothing", defaultValue = "false")
+    Boolean allOrNothing
+  ) {
+    for (StockReservation reservation : reservations) {
+      if (reservation.getItemId() == null || reservation.getQuantity() == null || reservation.getQuantity() < 1)
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid reservation: " + reservation);
+    }
+    return stockReservationService.reserveAll(reservations, allOrNothing);
+  }
+
+  // 조건 없이 전체가 변경되는 것을 막는다. (all=true면 허용)
+  private static void requireFilter(ItemSearchParams searchParams, boolean all) {
+    if (!searchParams.hasFilter() && !all)
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at least one search condition or all=true is required");
+  }
+}
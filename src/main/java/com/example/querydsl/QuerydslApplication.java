@@ -2,8 +2,11 @@ package com.example.querydsl;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+// 변경 기록 정리(ItemChangeLogRetention), WAL checkpoint(RoutingDataSourceConfig)
+@EnableScheduling
 public class QuerydslApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,32 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ShopStatsDto;
+import com.example.querydsl.repo.ShopRepository;
+import com.example.querydsl.stats.ShopStatsAggregator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class ShopController {
+  private final ShopRepository shopRepository;
+  private final ShopStatsAggregator shopStatsAggregator;
+
+  // Shop 별 Item 통계 (메모리에 유지되는 집계를 읽는다.)
+  @GetMapping("/shops/stats")
+  public List<ShopStatsDto> stats() {
+    // Shop 이름은 쿼리 캐시 + 2차 캐시에서 읽는다.
+    return shopStatsAggregator.snapshot(shopRepository.findNamesCached());
+  }
+
+  // 집계를 처음부터 다시 계산
+  @PostMapping("/shops/stats/rebuild")
+  public List<ShopStatsDto> rebuild() {
+    shopStatsAggregator.rebuild();
+    return stats();
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.querydsl.cache;
+
+import com.example.querydsl.dto.CountedPage;
+import com.example.querydsl.event.ItemChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 검색 조건 별 총 갯수(Count 쿼리 결과) 캐시
+// : 페이지만 바꿔가며 조회할 때마다 같은 Count 쿼리를 다시 실행하지 않도록 한다.
+// : Item이 변경되면 (트랜잭션이 커밋된 뒤) 전부 비운다.
+@Slf4j
+@Component
+public class ItemCountCache {
+  private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+  // 무효화될 때마다 증가하는 세대 번호
+  private final AtomicLong generation = new AtomicLong();
+  private final long ttlMillis;
+  private final int maxEntries;
+
+  public ItemCountCache(
+    @Value("${item.count.cache.ttl:30s}")
+    Duration ttl,
+    @Value("${item.count.cache.max-entries:1000}")
+    int maxEntries
+  ) {
+    this.ttlMillis = ttl.toMillis();
+    this.maxEntries = maxEntries;
+  }
+
+  public CountedPage.Total get(String key, Supplier<CountedPage.Total> counter) {
+    CountedPage.Total cached = getIfPresent(key);
+    if (cached != null) return cached;
+
+    long before = generation();
+    CountedPage.Total total = counter.get();
+    put(key, total, before);
+    return total;
+  }
+
+  // 만료되지 않은 값이 없으면 null
+  public CountedPage.Total getIfPresent(String key) {
+    Entry cached = counts.get(key);
+    if (cached != null && cached.expiresAt > System.currentTimeMillis()) return cached.total;
+    return null;
+  }
+
+  // Count를 시작하기 전의 세대 번호 (put에 넘긴다.)
+  public long generation() {
+    return generation.get();
+  }
+
+  // 세는 도중에 무효화가 일어났다면, 센 결과는 이미 오래된 값일 수 있으므로 넣지 않는다. (ItemSearchCache와 같은 방식)
+  // generation: Count를 시작하기 전에 generation()으로 받아둔 값
+  public void put(String key, CountedPage.Total total, long generation) {
+    if (this.generation.get() != generation) return;
+    // 크기 제한을 넘으면 통째로 비운다. (검색 조건의 종류는 많지 않다.)
+    if (counts.size() >= maxEntries) counts.clear();
+    Entry entry = new Entry(total, System.currentTimeMillis() + ttlMillis);
+    counts.put(key, entry);
+    // 확인한 뒤, 넣기 전에 clear()가 끼어들었다면 방금 넣은 것을 다시 뺀다.
+    if (this.generation.get() != generation) counts.remove(key, entry);
+  }
+
+  public void clear() {
+    generation.incrementAndGet();
+    counts.clear();
+  }
+
+  // 커밋 전에 비우면, 커밋 전의 값을 다른 요청이 다시 캐시에 넣을 수 있다.
+  // 트랜잭션 밖에서 발행된 이벤트는 바로 처리한다. (fallbackExecution)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ItemChangedEvent event) {
+    log.debug("invalidate count cache: {}", event);
+    clear();
+  }
+
+  private record Entry(CountedPage.Total total, long expiresAt) {}
+}
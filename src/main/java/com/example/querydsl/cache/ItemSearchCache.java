@@ -0,0 +1,89 @@
+package com.example.querydsl.cache;
+
+import com.example.querydsl.event.ItemChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 검색 결과 캐시 (Caffeine)
+// : 같은 검색 조건 + 페이지 요청이 반복되면 DB 대신 메모리에서 응답한다.
+// : 행 수를 무게(weight)로 사용해서 큰 결과가 캐시를 독차지하지 않도록 한다.
+// : Item이 추가/수정/삭제되면 (커밋 후) 전부 비운다.
+@Slf4j
+@Component
+public class ItemSearchCache implements MeterBinder {
+  private final Cache<String, Object> cache;
+  // 무효화될 때마다 증가하는 세대 번호
+  private final AtomicLong generation = new AtomicLong();
+
+  public ItemSearchCache(
+    // 캐시에 담을 수 있는 총 행 수
+    @Value("${item.search.cache.max-weight:100000}")
+    long maxWeight,
+    @Value("${item.search.cache.ttl:10s}")
+    Duration ttl
+  ) {
+    this.cache = Caffeine.newBuilder()
+      .maximumWeight(maxWeight)
+      .weigher((String key, Object value) -> weigh(value))
+      .expireAfterWrite(ttl)
+      .recordStats()
+      .build();
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T get(String key, Supplier<T> loader) {
+    Object cached = cache.getIfPresent(key);
+    if (cached != null) return (T) cached;
+
+    // 조회하는 도중에 무효화가 일어났다면, 조회한 결과는 이미 오래된 값일 수 있으므로 넣지 않는다.
+    long before = generation.get();
+    T loaded = loader.get();
+    if (loaded != null && generation.get() == before) cache.put(key, loaded);
+    return loaded;
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  public void clear() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  // cache.gets{result=hit|miss}, cache.size, cache.evictions ... (/actuator/metrics)
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "item-search");
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ItemChangedEvent event) {
+    log.debug("invalidate search cache: {}", event);
+    clear();
+  }
+
+  private static int weigh(Object value) {
+    if (value instanceof Collection<?> rows) return rows.size() + 1;
+    if (value instanceof Page<?> page) return page.getNumberOfElements() + 1;
+    return 1;
+  }
+}
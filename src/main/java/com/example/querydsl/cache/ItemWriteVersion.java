@@ -0,0 +1,61 @@
+package com.example.querydsl.cache;
+
+import com.example.querydsl.event.ItemChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Objects;
+
+// Item 데이터의 버전 (조건부 GET, ETag / Last-Modified)
+// : Item이 추가/수정/삭제되면 (커밋 후) 버전이 올라간다.
+// : 버전이 그대로라면 같은 검색 요청의 결과도 그대로이므로,
+// 클라이언트가 가진 ETag와 같으면 검색하지 않고 304 Not Modified로 응답한다.
+// : 검색 조건마다 max(updatedAt)을 조회하는 것보다 싸고, 삭제도 놓치지 않는다.
+@Slf4j
+@Component
+public class ItemWriteVersion {
+  private volatile Snapshot current;
+
+  public ItemWriteVersion() {
+    // 재시작하면 이전 프로세스의 ETag와 겹치지 않도록 시작 시각부터 센다.
+    long now = System.currentTimeMillis();
+    this.current = new Snapshot(now, now);
+  }
+
+  // 요청의 If-None-Match / If-Modified-Since가 현재 버전과 같으면 true (응답은 304로 설정된다.)
+  // 다르면 응답에 ETag, Last-Modified 헤더를 설정하고 false
+  // : 검색하기 전에 호출해야 한다. 검색 도중 변경이 커밋되더라도 이전 버전의 ETag가 붙으므로
+  // 다음 요청에서 다시 검색하게 된다.
+  public boolean checkNotModified(WebRequest request) {
+    Snapshot snapshot = current;
+    // 같은 버전이라도 형식(JSON, CBOR, Smile)이 다르면 다른 응답이므로 Accept에 따라 ETag를 다르게 한다.
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    String etag = "\"" + snapshot.version + "-" + Integer.toHexString(Objects.hashCode(accept)) + "\"";
+    // 중간 캐시(프록시)가 Accept가 다른 요청에 이 응답을 주지 않도록
+    if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null)
+      servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    // Last-Modified는 초 단위라서, 변경된 그 초 안에 받아간 클라이언트는
+    // 같은 초에 일어난 다음 변경을 구분할 수 없다. 그 초가 지난 뒤에만 Last-Modified를 준다.
+    if (System.currentTimeMillis() / 1000 > snapshot.modifiedAt / 1000)
+      return request.checkNotModified(etag, snapshot.modifiedAt);
+    return request.checkNotModified(etag);
+  }
+
+  public long version() {
+    return current.version;
+  }
+
+  // 커밋 전에 올리면, 커밋 전의 결과가 새 버전의 ETag로 나갈 수 있다.
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void onItemChanged(ItemChangedEvent event) {
+    Snapshot previous = current;
+    current = new Snapshot(previous.version + 1, System.currentTimeMillis());
+    log.debug("item version {}: {}", current.version, event);
+  }
+
+  private record Snapshot(long version, long modifiedAt) {}
+}
@@ -0,0 +1,27 @@
+package com.example.querydsl.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// JSON 대신 바이너리 형식으로 응답 (Accept 헤더로 선택)
+// - application/cbor
+// - application/x-jackson-smile
+// : 필드 이름과 숫자를 문자열로 쓰지 않으므로 응답이 작고, 직렬화도 빠르다. (SerializationBenchmark)
+// : Spring MVC도 클래스패스에 있으면 등록하지만, 그건 Spring Boot의 Jackson 설정(spring.jackson.*)을
+// 따르지 않으므로 Spring Boot가 설정한 Jackson2ObjectMapperBuilder로 만든 것으로 바꾼다.
+@Configuration
+public class BinaryFormatConfig {
+  // Jackson2ObjectMapperBuilder는 prototype이므로 주입받을 때마다 새로 만들어진다.
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+  }
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.smile().build());
+  }
+}
@@ -0,0 +1,61 @@
+package com.example.querydsl.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+// 전문 검색(Full-text search) 함수를 JPQL(HQL)에 등록한다.
+// (META-INF/services/org.hibernate.boot.model.FunctionContributor)
+// - fts_match(item.id, 검색어): item이 검색어를 포함하는지
+// - fts_rank(item.id, 검색어): 관련도 (클수록 관련도가 높다.)
+// DB마다 전문 검색 방식이 달라서, 같은 이름으로 DB에 맞는 SQL을 등록한다.
+// - SQLite: FTS5 가상 테이블 item_fts (schema-sqlite.sql)
+// - H2: H2 내장 전문 검색 FT_SEARCH_DATA (schema-h2.sql)
+//   : test 프로필에서만 사용한다. (dev는 SQLite)
+public class FullTextFunctionContributor implements FunctionContributor {
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    Dialect dialect = functionContributions.getServiceRegistry()
+      .getService(JdbcServices.class)
+      .getDialect();
+    SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+    BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+    // SQLiteDialect는 runtimeOnly 의존성(hibernate-community-dialects)이라 이름으로 구분한다.
+    if (dialect.getClass().getSimpleName().startsWith("SQLite")) {
+      // rowid = item.id (content_rowid)
+      registry.registerPattern(
+        "fts_match",
+        "(?1 in (select rowid from item_fts where item_fts match ?2))",
+        types.resolve(StandardBasicTypes.BOOLEAN)
+      );
+      // bm25()는 작을수록 관련도가 높다.
+      registry.registerPattern(
+        "fts_rank",
+        "coalesce((select -bm25(item_fts) from item_fts where item_fts match ?2 and rowid = ?1), 0)",
+        types.resolve(StandardBasicTypes.DOUBLE)
+      );
+    } else if (dialect instanceof H2Dialect) {
+      // KEYS: 검색된 행의 Primary Key 배열
+      registry.registerPattern(
+        "fts_match",
+        "(?1 in (select cast(ft.KEYS[1] as bigint) from FT_SEARCH_DATA(?2, 0, 0) ft where ft.\"TABLE\" = 'ITEM'))",
+        types.resolve(StandardBasicTypes.BOOLEAN)
+      );
+      // 함수 패턴은 FROM 절에 테이블을 추가할 수 없어서, 행마다 FT_SEARCH_DATA를 다시 실행하는 상관 서브쿼리가 된다.
+      // (검색어에 맞는 행 수 x 전문 검색 한번) -> 테스트처럼 행이 적을 때만 사용한다.
+      // 많은 행을 정렬해야 한다면 FT_SEARCH_DATA(?, 0, 0)을 한번만 조인하는 네이티브 쿼리로 바꿔야 한다.
+      registry.registerPattern(
+        "fts_rank",
+        "coalesce((select max(ft.SCORE) from FT_SEARCH_DATA(?2, 0, 0) ft"
+          + " where ft.\"TABLE\" = 'ITEM' and cast(ft.KEYS[1] as bigint) = ?1), 0)",
+        types.resolve(StandardBasicTypes.DOUBLE)
+      );
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.example.querydsl.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// 현재 트랜잭션이 readOnly면 읽기 전용 풀, 아니면(쓰기 트랜잭션, 트랜잭션 밖) 쓰기 풀의 커넥션을 준다.
+// : 트랜잭션이 시작될 때(readOnly 여부가 정해지기 전) 커넥션을 가져가지 않도록
+// LazyConnectionDataSourceProxy로 감싸서 사용한다. (첫 쿼리를 실행할 때 커넥션을 가져간다.)
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+  public enum Route { READ, WRITE }
+
+  public ReadWriteRoutingDataSource(DataSource writer, DataSource reader) {
+    setTargetDataSources(Map.of(Route.WRITE, writer, Route.READ, reader));
+    setDefaultTargetDataSource(writer);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READ : Route.WRITE;
+  }
+}
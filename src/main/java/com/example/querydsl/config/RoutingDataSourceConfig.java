@@ -0,0 +1,119 @@
+package com.example.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// SQLite 읽기/쓰기 커넥션 분리 (item.datasource.routing=true, dev 프로필)
+// : 기본(rollback journal) 모드에서는 쓰는 동안 다른 커넥션이 읽을 수 없다.
+// WAL 모드에서는 쓰기가 하나 진행 중이어도 읽기는 동시에 진행된다. (쓰기는 여전히 하나씩)
+// - 쓰기 풀: 커넥션 1개 (SQLite는 어차피 한번에 하나만 쓸 수 있다. 락을 기다리는 대신 풀에서 기다린다.)
+// - 읽기 풀: readOnly 트랜잭션이 사용하는 커넥션 N개
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "item.datasource.routing", havingValue = "true")
+public class RoutingDataSourceConfig {
+  // SQLite가 잠겨있을 때 바로 실패하지 않고 기다리는 시간
+  @Value("${spring.datasource.hikari.data-source-properties.busy_timeout:5000}")
+  private long busyTimeoutMillis;
+  // WAL 모드에서는 커밋마다 fsync 하지 않아도(NORMAL) 데이터베이스가 깨지지 않는다.
+  @Value("${item.datasource.synchronous:NORMAL}")
+  private String synchronous;
+
+  @Bean
+  public HikariDataSource writerDataSource(DataSourceProperties properties, Environment environment) {
+    return pool(properties, environment, "sqlite-writer", 1);
+  }
+
+  @Bean
+  public HikariDataSource readerDataSource(
+    DataSourceProperties properties,
+    Environment environment,
+    @Value("${item.datasource.reader-pool-size:4}")
+    int readerPoolSize
+  ) {
+    return pool(properties, environment, "sqlite-reader", readerPoolSize);
+  }
+
+  // JPA, JdbcTemplate, sql init 등은 이 DataSource를 사용한다.
+  @Bean
+  @Primary
+  public DataSource dataSource(
+    @Qualifier("writerDataSource") DataSource writer,
+    @Qualifier("readerDataSource") DataSource reader
+  ) {
+    return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(writer, reader));
+  }
+
+  // DataSource를 직접 만들면 spring.datasource.hikari.* (connection-timeout 등)가 적용되지 않으므로 직접 바인딩한다.
+  // 풀 이름과 크기만 풀마다 다르게 덮어쓴다. (쓰기 풀은 maximum-pool-size와 상관없이 1개)
+  private HikariDataSource pool(DataSourceProperties properties, Environment environment, String name, int size) {
+    HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+      .type(HikariDataSource.class)
+      .build();
+    Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+    dataSource.setPoolName(name);
+    dataSource.setMaximumPoolSize(size);
+    // sqlite-jdbc가 커넥션을 열 때 실행하는 PRAGMA
+    Map.of(
+      "journal_mode", "WAL",
+      "synchronous", synchronous,
+      "busy_timeout", String.valueOf(busyTimeoutMillis)
+    ).forEach(dataSource::addDataSourceProperty);
+    return dataSource;
+  }
+
+  // WAL 파일을 주기적으로 데이터베이스 파일에 반영한다.
+  // : SQLite도 자동으로 checkpoint 하지만(1000 페이지), 읽기가 끊이지 않으면 WAL 파일이 계속 커질 수 있다.
+  // PASSIVE: 읽고 있는 커넥션을 기다리지 않고 가능한 만큼만 반영 / TRUNCATE: 전부 반영하고 WAL 파일을 비운다.
+  @Bean
+  public WalCheckpointer walCheckpointer(
+    @Qualifier("writerDataSource") DataSource writer,
+    @Value("${item.datasource.wal-checkpoint-mode:PASSIVE}")
+    String mode
+  ) {
+    return new WalCheckpointer(new JdbcTemplate(writer), mode);
+  }
+
+  public static class WalCheckpointer {
+    private final JdbcTemplate jdbcTemplate;
+    private final String mode;
+
+    WalCheckpointer(JdbcTemplate jdbcTemplate, String mode) {
+      this.jdbcTemplate = jdbcTemplate;
+      this.mode = mode;
+    }
+
+    @Scheduled(
+      initialDelayString = "${item.datasource.wal-checkpoint-interval-ms:60000}",
+      fixedDelayString = "${item.datasource.wal-checkpoint-interval-ms:60000}"
+    )
+    public void checkpoint() {
+      long begin = System.nanoTime();
+      // 결과: busy(0/1), WAL 페이지 수, 반영된 페이지 수
+      jdbcTemplate.query("PRAGMA wal_checkpoint(" + mode + ")", rs -> {
+        log.info(
+          "wal_checkpoint({}): busy={}, log={}, checkpointed={} ({} ms)",
+          mode, rs.getInt(1), rs.getInt(2), rs.getInt(3),
+          Duration.ofNanos(System.nanoTime() - begin).toMillis()
+        );
+      });
+    }
+  }
+}
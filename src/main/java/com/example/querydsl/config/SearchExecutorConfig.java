@@ -0,0 +1,36 @@
+package com.example.querydsl.config;
+
+import com.example.querydsl.sql.StatementCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// 페이지 검색의 Count 쿼리를 content 조회와 동시에 실행하기 위한 스레드 풀
+// (item.search.parallel-count=true 일 때만 사용된다.)
+@Configuration
+public class SearchExecutorConfig {
+  @Bean(name = "searchCountExecutor")
+  public ThreadPoolTaskExecutor searchCountExecutor(
+    @Value("${item.search.count-executor.core-size:4}")
+    int coreSize,
+    @Value("${item.search.count-executor.max-size:8}")
+    int maxSize,
+    @Value("${item.search.count-executor.queue-capacity:100}")
+    int queueCapacity
+  ) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("search-count-");
+    executor.setCorePoolSize(coreSize);
+    executor.setMaxPoolSize(maxSize);
+    executor.setQueueCapacity(queueCapacity);
+    // 풀이 가득 차면 요청 스레드에서 직접 실행한다. (= 순서대로 실행하던 기존 방식)
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    // 요청의 SQL 문장 수(StatementBudgetFilter)에 Count 쿼리도 포함되도록
+    executor.setTaskDecorator(StatementCounter::propagate);
+    return executor;
+  }
+}
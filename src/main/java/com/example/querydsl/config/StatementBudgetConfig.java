@@ -0,0 +1,16 @@
+package com.example.querydsl.config;
+
+import com.example.querydsl.sql.CountingStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 실행되는 SQL을 세기 위한 StatementInspector 등록 (StatementBudgetFilter)
+@Configuration
+public class StatementBudgetConfig {
+  @Bean
+  public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+    return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+  }
+}
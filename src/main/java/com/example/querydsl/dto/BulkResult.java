@@ -0,0 +1,21 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 대량 작업의 결과 (처리한 행 수, 걸린 시간, 초당 처리량)
+@Getter
+@ToString
+@AllArgsConstructor
+public class BulkResult {
+  private final long rows;
+  private final long millis;
+  private final double rowsPerSecond;
+
+  public static BulkResult of(long rows, long startNanos) {
+    long nanos = System.nanoTime() - startNanos;
+    double seconds = nanos / 1_000_000_000.0;
+    return new BulkResult(rows, nanos / 1_000_000, seconds > 0 ? rows / seconds : rows);
+  }
+}
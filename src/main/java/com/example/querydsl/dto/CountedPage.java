@@ -0,0 +1,65 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// 총 갯수가 정확한 값인지(exact) 추정치인지를 함께 전달하는 Page
+// : 응답 JSON의 page 정보에 "exact": true/false 가 추가된다.
+@Getter
+public class CountedPage<T> extends PageImpl<T> {
+  private final boolean exact;
+
+  public CountedPage(List<T> content, Pageable pageable, long total, boolean exact) {
+    super(content, pageable, total);
+    this.exact = exact;
+  }
+
+  // PageableExecutionUtils.getPage()와 같은 규칙으로
+  // 1. 첫번째 페이지
+  // 2. (페이지 당 갯수를 채우지 못한) 마지막 페이지
+  // 의 경우에는 Count 쿼리(counter)를 실행하지 않는다.
+  public static <T> CountedPage<T> of(List<T> content, Pageable pageable, Supplier<Total> counter) {
+    if (pageable.isUnpaged() || pageable.getOffset() == 0) {
+      if (pageable.isUnpaged() || pageable.getPageSize() > content.size())
+        return new CountedPage<>(content, pageable, content.size(), true);
+      return of(content, pageable, counter.get());
+    }
+
+    if (!content.isEmpty() && pageable.getPageSize() > content.size())
+      return new CountedPage<>(content, pageable, pageable.getOffset() + content.size(), true);
+
+    return of(content, pageable, counter.get());
+  }
+
+  private static <T> CountedPage<T> of(List<T> content, Pageable pageable, Total total) {
+    return new CountedPage<>(content, pageable, total.getCount(), total.isExact());
+  }
+
+  // PageImpl.map()은 PageImpl을 반환하므로 exact 정보가 사라지지 않도록 재정의
+  @Override
+  public <U> CountedPage<U> map(Function<? super T, ? extends U> converter) {
+    return new CountedPage<>(
+      getContent().stream().map(converter).collect(Collectors.toList()),
+      getPageable(),
+      getTotalElements(),
+      exact
+    );
+  }
+
+  // 총 갯수 + 정확한 값인지 여부
+  @Getter
+  @ToString
+  @AllArgsConstructor
+  public static class Total {
+    private final long count;
+    private final boolean exact;
+  }
+}
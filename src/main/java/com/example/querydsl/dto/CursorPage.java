@@ -0,0 +1,29 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keyset 페이지네이션 결과
+// : Page와 달리 총 갯수를 모르며, 다음 페이지를 위한 커서만 가지고 있다.
+@Getter
+@ToString
+@AllArgsConstructor
+public class CursorPage<T> {
+  private final List<T> content;
+  // 다음 페이지가 없다면 null
+  private final String nextCursor;
+  private final boolean hasNext;
+
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+    return new CursorPage<>(
+      content.stream().map(converter).collect(Collectors.toList()),
+      nextCursor,
+      hasNext
+    );
+  }
+}
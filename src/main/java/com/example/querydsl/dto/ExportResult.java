@@ -0,0 +1,23 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 내보내기 결과 (행 수, 쓴 바이트 수, 걸린 시간, 초당 행 수, 내보내는 동안 가장 많이 사용한 힙)
+@Getter
+@ToString
+@AllArgsConstructor
+public class ExportResult {
+  private final long rows;
+  private final long bytes;
+  private final long millis;
+  private final double rowsPerSecond;
+  private final long peakHeapBytes;
+
+  public static ExportResult of(long rows, long bytes, long startNanos, long peakHeapBytes) {
+    long nanos = System.nanoTime() - startNanos;
+    double seconds = nanos / 1_000_000_000.0;
+    return new ExportResult(rows, bytes, nanos / 1_000_000, seconds > 0 ? rows / seconds : rows, peakHeapBytes);
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+// 변경 피드(/items/changes)의 한 항목
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemChange {
+  // UPSERT: 추가 또는 수정 (item에 현재 값), DELETE: 삭제 (item은 null)
+  public enum Type { UPSERT, DELETE }
+
+  private final Type type;
+  private final Long itemId;
+  // 변경이 기록된 시각 (순서는 시각이 아니라 기록 순서다.)
+  private final LocalDateTime changedAt;
+  private final ItemDto item;
+}
@@ -0,0 +1,35 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 변경 피드에서 "마지막으로 본 변경"을 나타내는 커서
+// : 마지막으로 본 변경 기록(ItemChangeLog)의 id
+// : 클라이언트에게는 Base64로 인코딩한 불투명한(opaque) 문자열로만 전달한다. (ItemCursor와 같은 방식)
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemChangeCursor {
+  private final long logId;
+
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding()
+      .encodeToString(String.valueOf(logId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  // 잘못된 커서는 IllegalArgumentException
+  public static ItemChangeCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      long logId = Long.parseLong(raw);
+      if (logId < 0) throw new IllegalArgumentException("invalid cursor: " + token);
+      return new ItemChangeCursor(logId);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("invalid cursor: " + token, e);
+    }
+  }
+}
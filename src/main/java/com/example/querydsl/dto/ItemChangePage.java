@@ -0,0 +1,20 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+// 변경 피드의 한 페이지
+// : CursorPage와 달리 마지막 페이지에도 커서가 있다.
+// 다음 동기화 때 그 커서로 요청하면 그 사이에 바뀐 것만 받는다.
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemChangePage {
+  private final List<ItemChange> changes;
+  private final String cursor;
+  // 지금 바로 다음 페이지를 요청해도 되는지
+  private final boolean hasMore;
+}
@@ -0,0 +1,18 @@
+package com.example.querydsl.dto;
+
+import lombok.*;
+
+// Item 생성 요청
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ItemCreateDto {
+  private String name;
+  private String description;
+  private Integer price;
+  private Integer stock;
+  // 없으면 null
+  private Long shopId;
+}
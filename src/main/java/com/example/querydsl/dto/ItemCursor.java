@@ -0,0 +1,67 @@
+package com.example.querydsl.dto;
+
+import com.example.querydsl.entity.Item;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Keyset(Seek) 페이지네이션에서 "마지막으로 본 행"을 나타내는 커서
+// : (price, id) 또는 (name, id) 를 기억해두고, 다음 페이지는 그 뒤부터 조회한다.
+// : 클라이언트에게는 Base64로 인코딩한 불투명한(opaque) 문자열로만 전달한다.
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemCursor {
+  public enum SortKey { PRICE, NAME }
+
+  private final SortKey sortKey;
+  private final Long id;
+  private final Integer price;
+  private final String name;
+
+  // 현재 페이지의 마지막 Item으로 다음 페이지용 커서를 만든다.
+  public static ItemCursor of(SortKey sortKey, Item last) {
+    return new ItemCursor(
+      sortKey,
+      last.getId(),
+      sortKey == SortKey.PRICE ? last.getPrice() : null,
+      sortKey == SortKey.NAME ? last.getName() : null
+    );
+  }
+
+  // 정렬 기준 값 (null일 수도 있다.)
+  public Object getValue() {
+    return sortKey == SortKey.PRICE ? price : name;
+  }
+
+  // SORTKEY|id|(null이면 빈 문자열, 아니면 "=" + 값)
+  public String encode() {
+    Object value = getValue();
+    String raw = sortKey.name() + "|" + id + "|" + (value == null ? "" : "=" + value);
+    return Base64.getUrlEncoder().withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // 잘못된 커서는 IllegalArgumentException
+  public static ItemCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      // 값(name)에 '|'가 들어있을 수 있으므로 3개로만 나눈다.
+      String[] parts = raw.split("\\|", 3);
+      if (parts.length != 3) throw new IllegalArgumentException("invalid cursor: " + token);
+
+      SortKey sortKey = SortKey.valueOf(parts[0]);
+      Long id = Long.valueOf(parts[1]);
+      String value = parts[2].isEmpty() ? null : parts[2].substring(1);
+      return sortKey == SortKey.PRICE
+        ? new ItemCursor(sortKey, id, value == null ? null : Integer.valueOf(value), null)
+        : new ItemCursor(sortKey, id, null, value);
+    } catch (IllegalArgumentException e) {
+      // NumberFormatException도 IllegalArgumentException이다.
+      throw new IllegalArgumentException("invalid cursor: " + token, e);
+    }
+  }
+}
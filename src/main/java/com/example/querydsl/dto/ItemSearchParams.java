@@ -12,4 +12,29 @@ public class ItemSearchParams {
   private String name;
   private Integer priceFloor;
   private Integer priceCeil;
+  private Long shopId;
+  private String shopName;
+  // 이름, 설명에 대한 전문 검색어 (여러 단어면 모두 포함하는 Item, 관련도 순으로 정렬)
+  private String keyword;
+  // true면 총 갯수가 너무 클 때 정확한 Count 대신 추정치를 반환한다.
+  private Boolean estimate;
+
+  // 검색 조건(필터)이 하나라도 있는지 (estimate는 조건이 아니다.)
+  public boolean hasFilter() {
+    return name != null || priceFloor != null || priceCeil != null || shopId != null || shopName != null
+      || keyword != null;
+  }
+
+  // 같은 검색 조건이라면 같은 문자열이 되도록 만든 캐시의 key
+  public String cacheKey() {
+    return String.join("|",
+      "name=" + name,
+      "floor=" + priceFloor,
+      "ceil=" + priceCeil,
+      "shop=" + shopId,
+      "shopName=" + shopName,
+      "keyword=" + keyword,
+      "estimate=" + Boolean.TRUE.equals(estimate)
+    );
+  }
 }
@@ -0,0 +1,31 @@
+package com.example.querydsl.dto;
+
+import lombok.*;
+
+// Shop 정보를 함께 담은 ItemDto
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ItemShopDto {
+  public String name;
+  public Integer cost;
+  public Integer stock;
+  // Shop이 없는 Item이라면 null
+  public Long shopId;
+  public String shopName;
+
+  public ItemShopDto(
+    String name,
+    Integer cost,
+    Integer stock,
+    Long shopId,
+    String shopName
+  ) {
+    this.name = name;
+    this.cost = cost;
+    this.stock = stock;
+    this.shopId = shopId;
+    this.shopName = shopName;
+  }
+}
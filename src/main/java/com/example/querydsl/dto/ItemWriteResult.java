@@ -0,0 +1,15 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 쓰기 큐(ItemWriteQueue)로 처리된 등록 / 수정의 결과
+// batchSize: 같은 트랜잭션(커밋)으로 함께 처리된 요청 수
+@Getter
+@ToString
+@AllArgsConstructor
+public class ItemWriteResult {
+  private final Long id;
+  private final int batchSize;
+}
@@ -0,0 +1,27 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+// 재고 예약 결과
+@Getter
+@ToString
+@AllArgsConstructor
+public class ReservationResult {
+  // false면 (allOrNothing 요청에서) 하나라도 실패해서 전부 취소되었다.
+  private final boolean committed;
+  private final List<Line> results;
+
+  @Getter
+  @ToString
+  @AllArgsConstructor
+  public static class Line {
+    private final Long itemId;
+    private final Integer quantity;
+    // 재고가 충분해서 차감에 성공했는지
+    private final boolean reserved;
+  }
+}
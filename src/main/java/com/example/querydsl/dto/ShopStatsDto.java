@@ -0,0 +1,20 @@
+package com.example.querydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Shop 별 Item 통계
+@Getter
+@ToString
+@AllArgsConstructor
+public class ShopStatsDto {
+  private final Long shopId;
+  private final String shopName;
+  private final long itemCount;
+  // 가격이 있는 Item이 없다면 null
+  private final Integer minPrice;
+  private final Integer maxPrice;
+  private final Double avgPrice;
+  private final long totalStock;
+}
@@ -0,0 +1,14 @@
+package com.example.querydsl.dto;
+
+import lombok.*;
+
+// 재고 예약 요청 (itemId의 재고를 quantity 만큼 차감)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class StockReservation {
+  private Long itemId;
+  private Integer quantity;
+}
@@ -1,5 +1,6 @@
 package com.example.querydsl.entity;
 
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -7,11 +8,15 @@ import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
 @Getter
 @MappedSuperclass
+// @CreatedDate, @LastModifiedDate를 채워주는 리스너 (@EnableJpaAuditing과 함께 사용)
+// : updatedAt은 변경할 때의 시각이다. (커밋 순서가 아니므로 변경 피드는 ItemChangeLog의 순서로 읽는다.)
+@EntityListeners(AuditingEntityListener.class)
 public class BaseEntity {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
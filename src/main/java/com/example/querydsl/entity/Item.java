@@ -1,8 +1,11 @@
 package com.example.querydsl.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.*;
 import org.springframework.stereotype.Component;
 
@@ -10,6 +13,16 @@ import org.springframework.stereotype.Component;
 @Getter
 @Builder
 @Entity
+@EntityListeners(ItemEntityListener.class)
+// ItemQuerydslRepoImpl의 검색 조건이 전체 테이블을 읽지 않도록 인덱스를 만든다.
+// (columnList에는 컬럼의 논리 이름을 쓴다. 속성 이름, 외래키는 shop_id)
+@Table(indexes = {
+  // name = ? (+ price 범위) -> name만 검색할 때도 이 인덱스를 사용한다.
+  @Index(name = "idx_item_name_price", columnList = "name, price"),
+  // price 범위만 검색할 때
+  @Index(name = "idx_item_price", columnList = "price"),
+  @Index(name = "idx_item_shop", columnList = "shop_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item extends BaseEntity{
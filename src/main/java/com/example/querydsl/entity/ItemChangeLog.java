@@ -0,0 +1,39 @@
+package com.example.querydsl.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Item 변경 기록 (변경 피드 /items/changes)
+// : 추가/수정/삭제하는 트랜잭션 안에서 함께 추가되므로, 변경이 롤백되면 기록도 롤백된다.
+// : 피드는 시각(updatedAt)이 아니라 id 순서로 읽는다. (ItemChangeLogWriter, ItemChangeFeedService)
+// : ItemChangeLogWriter가 JDBC로 추가한다. (Entity 콜백, 벌크 변경, 대량 등록)
+@Getter
+@Builder
+@Entity
+@Table(indexes = {
+  // since(시각)로 시작할 때 첫 id를 찾는다.
+  @Index(name = "idx_item_change_log_changed_at", columnList = "changedAt")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemChangeLog {
+  // UPSERT: 추가 또는 수정, DELETE: 삭제
+  public enum Type { UPSERT, DELETE }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+  private Long itemId;
+  @Enumerated(EnumType.STRING)
+  private Type changeType;
+  private LocalDateTime changedAt;
+}
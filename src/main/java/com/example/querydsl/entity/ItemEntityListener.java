@@ -0,0 +1,32 @@
+package com.example.querydsl.entity;
+
+import com.example.querydsl.event.ItemChangedEvent;
+import com.example.querydsl.repo.ItemChangeLogWriter;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+// Item Entity의 생명주기 콜백
+// : Spring Boot가 Hibernate에 Spring의 BeanContainer를 연결해두었기 때문에
+// Entity Listener도 생성자 주입을 받을 수 있다.
+// : 변경 피드를 위해 같은 트랜잭션에서 변경 기록(ItemChangeLog)을 남긴다.
+@RequiredArgsConstructor
+public class ItemEntityListener {
+  private final ApplicationEventPublisher eventPublisher;
+  private final ItemChangeLogWriter changeLogWriter;
+
+  @PostPersist
+  @PostUpdate
+  public void onChanged(Item item) {
+    long version = changeLogWriter.record(ItemChangeLog.Type.UPSERT, item.getId());
+    eventPublisher.publishEvent(ItemChangedEvent.saved(item, version));
+  }
+
+  @PostRemove
+  public void onRemoved(Item item) {
+    long version = changeLogWriter.record(ItemChangeLog.Type.DELETE, item.getId());
+    eventPublisher.publishEvent(ItemChangedEvent.deleted(item.getId(), version));
+  }
+}
@@ -1,12 +1,23 @@
 package com.example.querydsl.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Setter
 @Getter
 @Builder
 @Entity
+// shopName 검색 조건의 서브쿼리(select id from shop where name = ?)가 전체 테이블을 읽지 않도록
+@Table(indexes = @Index(name = "idx_shop_name", columnList = "name"))
+// 2차 캐시: Shop은 거의 바뀌지 않으므로 id로 조회(Item.getShop() 포함)할 때 DB를 거치지 않는다.
+// READ_WRITE: Shop이 변경되면 커밋 후 캐시도 갱신된다. (ehcache.xml의 shop region)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shop")
 @NoArgsConstructor
 @AllArgsConstructor
 public class Shop extends BaseEntity{
@@ -0,0 +1,67 @@
+package com.example.querydsl.event;
+
+import com.example.querydsl.entity.Item;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Item이 추가/수정/삭제되었음을 알리는 이벤트
+// : 캐시처럼 Item 데이터를 따로 들고 있는 Bean들이 이 이벤트를 보고 무효화한다.
+// : 쓰는 쪽이 이미 알고 있는 값(values)을 함께 보내서, 받는 쪽이 다시 조회하지 않아도 되게 한다.
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ItemChangedEvent {
+  public enum Type {
+    // Item 하나: 추가 또는 수정 (values가 있다.)
+    SAVED,
+    // Item 하나: 재고만 변경 (재고 예약. 변경 후의 재고는 모른다.)
+    STOCK_CHANGED,
+    // Item 하나: 삭제
+    DELETED,
+    // 여러 행: 추가 (대량 등록)
+    BULK_INSERTED,
+    // 여러 행: 가격 또는 재고만 변경 (이름은 그대로)
+    BULK_UPDATED,
+    // 여러 행: 삭제
+    BULK_DELETED
+  }
+
+  private final Type type;
+  // 변경된 Item의 id (여러 행을 한번에 바꾼 경우 null)
+  private final Long itemId;
+  // 변경 기록(ItemChangeLog)의 id
+  // - Item 하나: 그 변경의 기록 id. 같은 Item의 변경은 이 순서로 커밋된다.
+  //   (이벤트는 커밋한 스레드마다 처리되므로 받는 순서는 다를 수 있다.)
+  // - 여러 행: 이 트랜잭션의 기록 id는 모두 이보다 크거나 같다. (ItemChangeLogWriter.floor)
+  private final long version;
+  // SAVED: 커밋된 값
+  private final Values values;
+
+  public record Values(String name, Long shopId, Integer price, Integer stock) {}
+
+  public static ItemChangedEvent saved(Item item, long version) {
+    // Shop은 프록시일 수 있지만 id는 초기화 없이 읽는다.
+    Long shopId = item.getShop() == null ? null : item.getShop().getId();
+    Values values = new Values(item.getName(), shopId, item.getPrice(), item.getStock());
+    return new ItemChangedEvent(Type.SAVED, item.getId(), version, values);
+  }
+
+  public static ItemChangedEvent stockChanged(Long itemId, long version) {
+    return new ItemChangedEvent(Type.STOCK_CHANGED, itemId, version, null);
+  }
+
+  public static ItemChangedEvent deleted(Long itemId, long version) {
+    return new ItemChangedEvent(Type.DELETED, itemId, version, null);
+  }
+
+  // type: BULK_INSERTED, BULK_UPDATED, BULK_DELETED
+  public static ItemChangedEvent bulk(Type type, long floor) {
+    return new ItemChangedEvent(type, null, floor, null);
+  }
+
+  public boolean isBulk() {
+    return itemId == null;
+  }
+}
@@ -0,0 +1,106 @@
+package com.example.querydsl.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.List;
+
+// 컬럼 지향(column-oriented) 파일
+// : blockRows개의 행을 모아서, 컬럼마다 값을 연속으로 쓴다.
+// 같은 타입의 비슷한 값이 붙어 있으므로 gzip이 잘 압축하고, 읽는 쪽은 필요한 컬럼만 건너뛰며 읽을 수 있다.
+// : 메모리에는 한 블록만 들고 있는다.
+//
+// 파일 구조 (DataOutputStream, big-endian)
+//   "ICOL" | version(byte) | 컬럼 수(short) | 컬럼마다 [이름(UTF) | 타입(byte, ExportColumn.Type의 ordinal)]
+//   블록: 행 수(int) | 컬럼마다 [null 비트맵(ceil(행 수 / 8) bytes, 1이면 null) | null이 아닌 값들]
+//     LONG: 8 bytes, INT: 4 bytes, TIMESTAMP: epoch millis 8 bytes (zone 기준의 LocalDateTime을 변환), STRING: 길이(int) + UTF-8
+//   끝: 행 수 0(int)
+public class ColumnarRowWriter implements RowWriter {
+  private static final byte[] MAGIC = {'I', 'C', 'O', 'L'};
+  private static final byte VERSION = 1;
+
+  private final DataOutputStream out;
+  private final List<ExportColumn> columns;
+  private final int blockRows;
+  // LocalDateTime이 어느 시간대의 시각인지 (updatedAt은 서버의 기본 시간대로 기록된다.)
+  private final ZoneId zone;
+  private final ByteArrayOutputStream[] buffers;
+  private final DataOutputStream[] values;
+  private final BitSet[] nulls;
+  private int rows;
+
+  public ColumnarRowWriter(OutputStream out, List<ExportColumn> columns, int blockRows, ZoneId zone) throws IOException {
+    this.out = new DataOutputStream(out);
+    this.columns = columns;
+    this.blockRows = blockRows;
+    this.zone = zone;
+    this.buffers = new ByteArrayOutputStream[columns.size()];
+    this.values = new DataOutputStream[columns.size()];
+    this.nulls = new BitSet[columns.size()];
+    for (int i = 0; i < columns.size(); i++) {
+      buffers[i] = new ByteArrayOutputStream();
+      values[i] = new DataOutputStream(buffers[i]);
+      nulls[i] = new BitSet(blockRows);
+    }
+
+    this.out.write(MAGIC);
+    this.out.writeByte(VERSION);
+    this.out.writeShort(columns.size());
+    for (ExportColumn column : columns) {
+      this.out.writeUTF(column.name());
+      this.out.writeByte(column.type().ordinal());
+    }
+  }
+
+  @Override
+  public void write(Object[] row) throws IOException {
+    for (int i = 0; i < columns.size(); i++) {
+      Object value = row[i];
+      if (value == null) {
+        nulls[i].set(rows);
+        continue;
+      }
+      DataOutputStream column = values[i];
+      switch (columns.get(i).type()) {
+        case LONG -> column.writeLong(((Number) value).longValue());
+        case INT -> column.writeInt(((Number) value).intValue());
+        case TIMESTAMP -> column.writeLong(((LocalDateTime) value).atZone(zone).toInstant().toEpochMilli());
+        case STRING -> {
+          byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+          column.writeInt(bytes.length);
+          column.write(bytes);
+        }
+      }
+    }
+    if (++rows == blockRows) flushBlock();
+  }
+
+  private void flushBlock() throws IOException {
+    if (rows == 0) return;
+    out.writeInt(rows);
+    int bitmapBytes = (rows + 7) / 8;
+    for (int i = 0; i < columns.size(); i++) {
+      // BitSet.toByteArray는 little-endian 비트 순서이고, 뒤쪽의 0은 생략되므로 길이를 맞춘다.
+      byte[] bitmap = nulls[i].toByteArray();
+      out.write(bitmap);
+      out.write(new byte[bitmapBytes - bitmap.length]);
+      buffers[i].writeTo(out);
+
+      buffers[i].reset();
+      nulls[i].clear();
+    }
+    rows = 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    flushBlock();
+    out.writeInt(0);
+    out.flush();
+  }
+}
@@ -0,0 +1,54 @@
+package com.example.querydsl.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// CSV (RFC 4180)
+// : 쉼표, 따옴표, 줄바꿈이 들어있는 값만 따옴표로 감싸고, 안의 따옴표는 두번 쓴다.
+// : null은 빈 칸, 날짜는 ISO-8601
+public class CsvRowWriter implements RowWriter {
+  private final Writer writer;
+
+  public CsvRowWriter(OutputStream out, List<ExportColumn> columns) throws IOException {
+    this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) writer.write(',');
+      writer.write(columns.get(i).name());
+    }
+    writer.write("\r\n");
+  }
+
+  @Override
+  public void write(Object[] row) throws IOException {
+    for (int i = 0; i < row.length; i++) {
+      if (i > 0) writer.write(',');
+      if (row[i] != null) writeValue(row[i].toString());
+    }
+    writer.write("\r\n");
+  }
+
+  private void writeValue(String value) throws IOException {
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quote) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.flush();
+  }
+}
@@ -0,0 +1,7 @@
+package com.example.querydsl.export;
+
+// 내보내는 컬럼의 이름과 타입 (COLUMNAR 형식의 헤더에 그대로 기록된다.)
+public record ExportColumn(String name, Type type) {
+  // ordinal이 파일에 기록되므로 순서를 바꾸지 않는다.
+  public enum Type { LONG, INT, STRING, TIMESTAMP }
+}
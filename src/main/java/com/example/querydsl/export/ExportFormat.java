@@ -0,0 +1,25 @@
+package com.example.querydsl.export;
+
+// 내보내기 파일 형식
+// - CSV: 헤더 + 한 줄에 한 행 (RFC 4180)
+// - COLUMNAR: 행 묶음(block)마다 컬럼별로 값을 모아서 쓴다. (ColumnarRowWriter)
+public enum ExportFormat {
+  CSV("text/csv", ".csv"),
+  COLUMNAR("application/octet-stream", ".col");
+
+  private final String contentType;
+  private final String extension;
+
+  ExportFormat(String contentType, String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+
+  public String contentType() {
+    return contentType;
+  }
+
+  public String extension() {
+    return extension;
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.querydsl.export;
+
+import com.example.querydsl.dto.ExportResult;
+import com.example.querydsl.dto.ItemSearchParams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// 명령줄에서 내보내기: 파일로 쓰고 종료한다.
+// ./gradlew bootRun --args='--spring.profiles.active=dev --spring.main.web-application-type=none
+//   --export=items.csv.gz --export.filter.price-floor=1000'
+// - export.format: CSV | COLUMNAR (기본: 파일 이름에 .col이 있으면 COLUMNAR)
+// - export.gzip: 기본은 파일 이름이 .gz로 끝나는지
+// - export.filter.*: ItemSearchParams (name, price-floor, price-ceil, shop-id, shop-name, keyword)
+// - export.exit: false면 내보낸 뒤에도 계속 실행한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "export")
+@RequiredArgsConstructor
+public class ItemExportRunner implements ApplicationRunner {
+  private final ItemExportService exportService;
+  private final Environment environment;
+  private final ConfigurableApplicationContext context;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    Path path = Path.of(environment.getRequiredProperty("export"));
+    String fileName = path.getFileName().toString();
+    ExportFormat format = environment.getProperty(
+      "export.format",
+      ExportFormat.class,
+      fileName.contains(ExportFormat.COLUMNAR.extension()) ? ExportFormat.COLUMNAR : ExportFormat.CSV
+    );
+    boolean gzip = environment.getProperty("export.gzip", Boolean.class, fileName.endsWith(".gz"));
+    ItemSearchParams searchParams = Binder.get(environment)
+      .bind("export.filter", ItemSearchParams.class)
+      .orElseGet(ItemSearchParams::new);
+
+    ExportResult result;
+    try (OutputStream out = Files.newOutputStream(path)) {
+      result = exportService.export(searchParams, format, gzip, out);
+    }
+    log.info("exported to {}: {} rows, {} bytes, {} ms, {} rows/s, peak heap {} MB",
+      path.toAbsolutePath(),
+      result.getRows(),
+      result.getBytes(),
+      result.getMillis(),
+      Math.round(result.getRowsPerSecond()),
+      result.getPeakHeapBytes() / (1024 * 1024));
+
+    if (environment.getProperty("export.exit", Boolean.class, true))
+      System.exit(SpringApplication.exit(context));
+  }
+}
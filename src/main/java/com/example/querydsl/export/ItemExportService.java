@@ -0,0 +1,120 @@
+package com.example.querydsl.export;
+
+import com.example.querydsl.dto.ExportResult;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.repo.ItemRepository;
+import com.querydsl.core.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.example.querydsl.export.ExportColumn.Type.*;
+
+// Item 테이블 내보내기 (/items/export, --export)
+// : /search-p를 수천번 호출하는 대신, 하나의 forward-only 커서로 처음부터 끝까지 읽으면서 바로 출력에 쓴다.
+// : Entity나 DTO List를 만들지 않으므로 행 수와 관계없이 메모리 사용량이 일정하다.
+// (COLUMNAR는 한 블록만큼만 들고 있는다.)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemExportService {
+  // ItemQuerydslRepo.streamExportRows의 컬럼 순서
+  public static final List<ExportColumn> COLUMNS = List.of(
+    new ExportColumn("id", LONG),
+    new ExportColumn("name", STRING),
+    new ExportColumn("description", STRING),
+    new ExportColumn("price", INT),
+    new ExportColumn("stock", INT),
+    new ExportColumn("shop_id", LONG),
+    new ExportColumn("updated_at", TIMESTAMP)
+  );
+  // 이 행 수마다 힙 사용량을 확인한다.
+  private static final int HEAP_SAMPLE_INTERVAL = 10_000;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final ItemRepository itemRepository;
+  @Value("${item.export.block-rows:8192}")
+  private int blockRows;
+
+  // Stream을 다 읽을 때까지 트랜잭션(과 DB 커서)이 열려 있어야 한다.
+  // out은 닫지 않는다. (응답 스트림은 Spring이, 파일은 호출한 쪽이 닫는다.)
+  @Transactional(readOnly = true)
+  public ExportResult export(
+    ItemSearchParams searchParams,
+    ExportFormat format,
+    boolean gzip,
+    OutputStream out
+  ) throws IOException {
+    long start = System.nanoTime();
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    long peakHeap = memory.getHeapMemoryUsage().getUsed();
+
+    CountingOutputStream counted = new CountingOutputStream(out);
+    OutputStream target = gzip
+      ? new GZIPOutputStream(counted, BUFFER_SIZE)
+      : new BufferedOutputStream(counted, BUFFER_SIZE);
+    long rows = 0;
+    try (
+      Stream<Tuple> stream = itemRepository.streamExportRows(searchParams);
+      RowWriter writer = writer(format, target)
+    ) {
+      Iterator<Tuple> iterator = stream.iterator();
+      while (iterator.hasNext()) {
+        writer.write(iterator.next().toArray());
+        if (++rows % HEAP_SAMPLE_INTERVAL == 0)
+          peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+      }
+    }
+    // close하면 out까지 닫히므로 gzip trailer만 쓰고 flush
+    if (target instanceof GZIPOutputStream gzipOut) gzipOut.finish();
+    target.flush();
+    peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+
+    ExportResult result = ExportResult.of(rows, counted.count, start, peakHeap);
+    log.info("export {}{}: {}", format, gzip ? " (gzip)" : "", result);
+    return result;
+  }
+
+  private RowWriter writer(ExportFormat format, OutputStream out) throws IOException {
+    return switch (format) {
+      case CSV -> new CsvRowWriter(out, COLUMNS);
+      case COLUMNAR -> new ColumnarRowWriter(out, COLUMNS, blockRows, ZoneId.systemDefault());
+    };
+  }
+
+  // 실제로 출력에 쓴 바이트 수 (gzip이면 압축된 크기)
+  private static class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    // FilterOutputStream은 한 바이트씩 쓰므로 그대로 넘긴다.
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
+  }
+}
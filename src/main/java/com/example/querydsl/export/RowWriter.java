@@ -0,0 +1,11 @@
+package com.example.querydsl.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// 내보내기 형식별로 한 행씩 쓴다.
+// : 값의 순서와 타입은 ItemExportService.COLUMNS를 따른다.
+// : close는 남은 내용을 다 쓰고 flush만 한다. (출력 스트림은 호출한 쪽이 닫는다.)
+public interface RowWriter extends Closeable {
+  void write(Object[] row) throws IOException;
+}
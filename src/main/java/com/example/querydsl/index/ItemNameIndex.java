@@ -0,0 +1,378 @@
+package com.example.querydsl.index;
+
+import com.example.querydsl.event.ItemChangedEvent;
+import com.example.querydsl.repo.ItemChangeLogWriter;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import static com.example.querydsl.entity.QItem.item;
+import static com.example.querydsl.entity.QItemChangeLog.itemChangeLog;
+
+// Item 이름의 메모리 색인 (자동 완성용)
+// : 이름으로 시작하는 / 포함하는 Item의 id를 DB를 거치지 않고 찾는다.
+// - 앞부분 일치: 이름 순으로 정렬된 TreeMap의 범위 조회 O(log n + k)
+// - 부분 일치: 3글자 조각(trigram) -> id 목록. 검색어의 조각들을 모두 가진 id만 남기고,
+//   실제로 포함하는지 다시 확인한다. (조각은 모두 있지만 순서가 다른 경우)
+//   3글자보다 짧은 검색어를 위해 1, 2글자 조각도 색인한다. (전체를 읽지 않도록)
+//   결과는 이름 순서로 앞의 limit개
+// : 대소문자를 구분하지 않는다.
+// : ShopStatsAggregator처럼 시작할 때 만들고, 커밋된 변경은 전용 스레드(1개)에서 반영한다.
+// 커밋한 스레드는 이벤트를 큐에 넣기만 하고, 같은 Item의 변경이 여러번 쌓이면 가장 최근 것만 반영한다.
+// - 추가/수정(SAVED): 이벤트에 담긴 이름을 그대로 반영한다.
+// - 재고 예약, 가격/재고 벌크 변경: 이름이 그대로이므로 무시한다.
+// - 대량 등록/벌크 삭제: 변경 기록에서 바뀐 Item만 찾아서 다시 읽는다.
+// : 늦게 도착한 이전 변경은 version(ItemChangeLog의 id)으로 걸러낸다.
+@Slf4j
+@Component
+public class ItemNameIndex {
+  private static final int GRAM = 3;
+  // 다시 읽을 id를 나눠서 조회하는 크기 (IN 절의 바인딩 변수 수 제한)
+  private static final int CHUNK_SIZE = 500;
+
+  private final JPAQueryFactory queryFactory;
+  private final ItemChangeLogWriter changeLogWriter;
+  private final TransactionTemplate readOnly;
+  // 변경을 반영하는 스레드
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "item-name-index");
+    thread.setDaemon(true);
+    return thread;
+  });
+  // 조회는 동시에, 변경은 반영하는 스레드에서만
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // 아직 반영하지 않은 변경 (queued로 잠근다.)
+  // itemId -> version이 가장 큰 이벤트
+  private final Map<Long, ItemChangedEvent> queued = new HashMap<>();
+  // 대량 등록/벌크 삭제: 가장 작은 floor (없으면 Long.MAX_VALUE)
+  private long queuedBulkFloor = Long.MAX_VALUE;
+  private boolean queuedRebuild;
+  private boolean draining;
+
+  // 아래는 lock으로 보호한다.
+  private Index index = new Index();
+  // itemId -> 반영한 마지막 변경의 version (삭제된 Item 포함, 다음 rebuild까지)
+  private Map<Long, Long> versions = new HashMap<>();
+  // version이 이보다 작은 변경은 마지막 rebuild가 이미 읽었다.
+  private long rebuiltBelow;
+
+  public ItemNameIndex(
+    JPAQueryFactory queryFactory,
+    ItemChangeLogWriter changeLogWriter,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.queryFactory = queryFactory;
+    this.changeLogWriter = changeLogWriter;
+    this.readOnly = new TransactionTemplate(transactionManager);
+    // 커밋이 끝난 뒤(이벤트 처리 중)에도 새 트랜잭션에서 조회할 수 있도록
+    this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readOnly.setReadOnly(true);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onReady() {
+    rebuild();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  // 전체 다시 만들기 O(items): 반영하는 스레드에서 실행하고, 끝날 때까지 기다린다.
+  public void rebuild() {
+    synchronized (queued) {
+      queuedRebuild = true;
+      scheduleDrain();
+    }
+    flush();
+  }
+
+  // 지금까지 받은 변경이 모두 반영될 때까지 기다린다.
+  public void flush() {
+    try {
+      executor.submit(() -> {}).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  // 커밋된 변경만 반영한다.
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ItemChangedEvent event) {
+    synchronized (queued) {
+      switch (event.getType()) {
+        // 이름은 바뀌지 않는다.
+        case STOCK_CHANGED, BULK_UPDATED -> {
+          return;
+        }
+        case BULK_INSERTED, BULK_DELETED -> queuedBulkFloor = Math.min(queuedBulkFloor, event.getVersion());
+        default -> queued.merge(event.getItemId(), event,
+          (previous, next) -> next.getVersion() > previous.getVersion() ? next : previous);
+      }
+      scheduleDrain();
+    }
+  }
+
+  // queued를 잠근 상태에서
+  private void scheduleDrain() {
+    if (draining) return;
+    draining = true;
+    executor.execute(this::drain);
+  }
+
+  // 반영하는 스레드: 쌓인 변경이 없을 때까지
+  private void drain() {
+    while (true) {
+      Map<Long, ItemChangedEvent> events;
+      long bulkFloor;
+      boolean rebuild;
+      synchronized (queued) {
+        if (queued.isEmpty() && queuedBulkFloor == Long.MAX_VALUE && !queuedRebuild) {
+          draining = false;
+          return;
+        }
+        events = new HashMap<>(queued);
+        bulkFloor = queuedBulkFloor;
+        rebuild = queuedRebuild;
+        queued.clear();
+        queuedBulkFloor = Long.MAX_VALUE;
+        queuedRebuild = false;
+      }
+      try {
+        if (rebuild) doRebuild();
+        else if (bulkFloor != Long.MAX_VALUE) reloadChangedSince(bulkFloor);
+        for (ItemChangedEvent event : events.values()) {
+          String name = event.getType() == ItemChangedEvent.Type.SAVED ? event.getValues().name() : null;
+          put(event.getItemId(), event.getVersion(), name, false);
+        }
+      } catch (RuntimeException e) {
+        log.error("failed to apply item changes to the name index", e);
+      }
+    }
+  }
+
+  private void doRebuild() {
+    Index newIndex = new Index();
+    // 변경 피드처럼, 읽는 동안 커밋되지 않은 기록의 id를 빼고 읽은 범위를 정한다. (ItemChangeLogWriter)
+    ItemChangeLogWriter.Reader reader = changeLogWriter.openReader();
+    Long maxVersion;
+    long horizon;
+    try {
+      maxVersion = readOnly.execute(status -> {
+        // 기록을 먼저 읽는다. 이 id까지의 변경은 아래에서 읽는 이름에 포함된다.
+        Long max = queryFactory
+          .select(itemChangeLog.id.max())
+          .from(itemChangeLog)
+          .fetchOne();
+        try (Stream<Tuple> rows = queryFactory
+          .select(item.id, item.name)
+          .from(item)
+          .stream()) {
+          rows.forEach(row -> newIndex.add(row.get(item.id), row.get(item.name)));
+        }
+        return max;
+      });
+    } finally {
+      horizon = changeLogWriter.closeReader(reader);
+    }
+
+    lock.writeLock().lock();
+    try {
+      index = newIndex;
+      versions = new HashMap<>();
+      rebuiltBelow = Math.min(horizon, (maxVersion == null ? 0 : maxVersion) + 1);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("item name index rebuilt: {} names, {} grams", newIndex.names.size(), newIndex.grams.size());
+  }
+
+  // 변경 기록에서 floor 이후에 기록된 Item의 이름을 다시 읽는다. (삭제되었으면 빼낸다.)
+  // : 기록을 먼저 읽고 Item을 나중에 읽으므로, 읽은 이름에는 그 기록까지의 변경이 포함되어 있다.
+  private void reloadChangedSince(long floor) {
+    NumberExpression<Long> last = itemChangeLog.id.max();
+    Map<Long, Long> changed = new HashMap<>();
+    Map<Long, String> names = new HashMap<>();
+    readOnly.executeWithoutResult(status -> {
+      queryFactory
+        .select(itemChangeLog.itemId, last)
+        .from(itemChangeLog)
+        .where(itemChangeLog.id.goe(floor))
+        .groupBy(itemChangeLog.itemId)
+        .fetch()
+        .forEach(row -> changed.put(row.get(itemChangeLog.itemId), row.get(last)));
+      List<Long> ids = new ArrayList<>(changed.keySet());
+      for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+        queryFactory
+          .select(item.id, item.name)
+          .from(item)
+          .where(item.id.in(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))))
+          .fetch()
+          .forEach(row -> names.put(row.get(item.id), row.get(item.name)));
+      }
+    });
+    changed.forEach((itemId, version) -> put(itemId, version, names.get(itemId), true));
+  }
+
+  // Item 하나의 이름을 바꾼다. (name이 null이면 빼낸다.)
+  // reloaded: 방금 DB에서 읽은 이름이면 true. 가장 최신이므로 version과 상관없이 반영한다.
+  private void put(Long itemId, long version, String name, boolean reloaded) {
+    lock.writeLock().lock();
+    try {
+      long known = Math.max(versions.getOrDefault(itemId, Long.MIN_VALUE), rebuiltBelow - 1);
+      // 이미 반영한 변경이거나 더 오래된 변경
+      if (!reloaded && version <= known) return;
+      versions.put(itemId, Math.max(version, known));
+      // 이름이 그대로면 색인은 바꾸지 않는다.
+      if (name != null && normalize(name).equals(index.names.get(itemId))) return;
+      index.remove(itemId);
+      index.add(itemId, name);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // 이름이 prefix로 시작하는 Item의 id (이름 순서로 최대 limit개)
+  public List<Long> startsWith(String prefix, int limit) {
+    String key = normalize(prefix);
+    List<Long> ids = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      // prefix <= 이름 < prefix + (가장 큰 문자)
+      for (Set<Long> sameName : index.byName.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+        for (Long id : sameName) {
+          if (ids.size() >= limit) return ids;
+          ids.add(id);
+        }
+      }
+      return ids;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // 이름에 text가 포함된 Item의 id (이름 순서로 최대 limit개)
+  // : 후보 k개 중 앞의 limit개만 남긴다. (limit 크기의 힙, O(k log limit))
+  public List<Long> contains(String text, int limit) {
+    if (limit < 1) return List.of();
+    String key = normalize(text);
+    lock.readLock().lock();
+    try {
+      Comparator<Long> byName = Comparator.comparing((Long id) -> index.names.get(id))
+        .thenComparing(Comparator.naturalOrder());
+      // 가장 뒤(이름이 가장 큰) id가 맨 위
+      PriorityQueue<Long> first = new PriorityQueue<>(byName.reversed());
+      for (Long id : candidates(key)) {
+        String name = index.names.get(id);
+        if (name == null || !name.contains(key)) continue;
+        first.add(id);
+        if (first.size() > limit) first.poll();
+      }
+      List<Long> ids = new ArrayList<>(first);
+      ids.sort(byName);
+      return ids;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // 검색어의 조각을 모두 가진 id
+  // : 3글자보다 짧으면 검색어 자체가 하나의 조각이다.
+  private Collection<Long> candidates(String key) {
+    if (key.isEmpty()) return index.names.keySet();
+
+    List<Set<Long>> postings = new ArrayList<>();
+    for (String gram : grams(key, Math.min(GRAM, key.length()))) {
+      Set<Long> ids = index.grams.get(gram);
+      if (ids == null) return List.of();
+      postings.add(ids);
+    }
+    // 가장 작은 목록부터 교집합
+    postings.sort(Comparator.comparingInt(Set::size));
+    List<Long> result = new ArrayList<>(postings.get(0));
+    for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+      result.retainAll(postings.get(i));
+    }
+    return result;
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return index.names.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static String normalize(String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  // name의 length글자 조각
+  private static Set<String> grams(String name, int length) {
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i + length <= name.length(); i++) grams.add(name.substring(i, i + length));
+    return grams;
+  }
+
+  // 색인하는 모든 조각 (1 ~ GRAM 글자)
+  private static Set<String> allGrams(String name) {
+    Set<String> all = new HashSet<>();
+    for (int length = 1; length <= GRAM; length++) all.addAll(grams(name, length));
+    return all;
+  }
+
+  private static class Index {
+    // id -> 이름 (소문자)
+    private final Map<Long, String> names = new HashMap<>();
+    // 이름 (소문자) -> id
+    private final NavigableMap<String, Set<Long>> byName = new TreeMap<>();
+    // 1 ~ 3글자 조각 -> id
+    private final Map<String, Set<Long>> grams = new HashMap<>();
+
+    void add(Long id, String name) {
+      if (name == null) return;
+      String key = normalize(name);
+      names.put(id, key);
+      // 같은 이름은 id 순서로
+      byName.computeIfAbsent(key, k -> new TreeSet<>()).add(id);
+      for (String gram : allGrams(key)) grams.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+    }
+
+    void remove(Long id) {
+      String key = names.remove(id);
+      if (key == null) return;
+      removeFrom(byName, key, id);
+      for (String gram : allGrams(key)) removeFrom(grams, gram, id);
+    }
+
+    private static void removeFrom(Map<String, Set<Long>> map, String key, Long id) {
+      Set<Long> ids = map.get(key);
+      if (ids == null) return;
+      ids.remove(id);
+      if (ids.isEmpty()) map.remove(key);
+    }
+  }
+}
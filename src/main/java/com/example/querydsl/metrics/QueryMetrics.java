@@ -0,0 +1,61 @@
+package com.example.querydsl.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+// Querydsl 쿼리 실행 지표 (/actuator/metrics/item.query, /actuator/prometheus)
+// - item.query: 실행 시간 (히스토그램, 실행 횟수 포함)
+// - item.query.rows: 반환된(또는 변경된) 행 수
+// tag
+// - method: 리포지토리 메서드 (searchDynamic, searchDynamicDto.page, count, ...)
+// - shape: 사용된 검색 조건의 조합 (name+priceBetween, priceGoe, none, ...)
+//   값이 아니라 조건의 종류만 사용하므로 tag 값의 종류가 제한된다.
+// - outcome: success / error
+// 히스토그램(백분위) 설정은 application.yaml의 management.metrics.distribution
+@Component
+public class QueryMetrics {
+  private final MeterRegistry registry;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<String, DistributionSummary> rows = new ConcurrentHashMap<>();
+
+  public QueryMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  public <T> T record(String method, String shape, Supplier<T> query, ToLongFunction<T> rowCount) {
+    long begin = System.nanoTime();
+    T result;
+    try {
+      result = query.get();
+    } catch (RuntimeException e) {
+      timer(method, shape, "error").record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+    timer(method, shape, "success").record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+    rows(method, shape).record(rowCount.applyAsLong(result));
+    return result;
+  }
+
+  private Timer timer(String method, String shape, String outcome) {
+    return timers.computeIfAbsent(method + "|" + shape + "|" + outcome, key -> Timer.builder("item.query")
+      .description("Querydsl query execution time")
+      .tags("method", method, "shape", shape, "outcome", outcome)
+      .register(registry));
+  }
+
+  private DistributionSummary rows(String method, String shape) {
+    return rows.computeIfAbsent(method + "|" + shape, key -> DistributionSummary.builder("item.query.rows")
+      .description("Rows returned or affected by a Querydsl query")
+      .baseUnit("rows")
+      .tags("method", method, "shape", shape)
+      .register(registry));
+  }
+}
@@ -0,0 +1,174 @@
+package com.example.querydsl.repo;
+
+import com.example.querydsl.entity.ItemChangeLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+// Item 변경 기록(ItemChangeLog)을 변경하는 트랜잭션 안에서 추가한다.
+// : Entity 콜백(@PostPersist 등)은 flush 도중에 호출되어 EntityManager를 사용할 수 없으므로 JDBC로 추가한다.
+// : JpaTransactionManager의 트랜잭션 안에서는 같은 커넥션을 사용하므로, 변경이 롤백되면 기록도 롤백된다.
+//
+// 기록의 id는 할당된 순서이지 커밋된 순서가 아니다.
+// 먼저 id를 받은 트랜잭션이 늦게 커밋되면, 피드가 그 id를 건너뛰고 뒤의 id까지 읽어버릴 수 있다.
+// (updatedAt도 커밋이 아니라 변경할 때의 시각이라 같은 문제가 있다. 대량 등록은 시작할 때 한번만 찍는다.)
+// 그래서 아직 커밋되지 않은 트랜잭션이 받을 수 있는 가장 작은 id(floor)를 기억해두고,
+// 피드는 그보다 작은 id만 내보낸다. (horizon)
+// - floor: 트랜잭션의 첫 기록 전에 (이미 할당된 것으로 확인한 가장 큰 id + 1). 이후에 할당되는 id는 항상 이보다 크다.
+//   한 건 기록(Entity 콜백, 재고 예약)은 MAX(id)를 조회하지 않고, 이전 기록들의 생성된 키 중 가장 큰 값을 사용한다.
+//   기록한 뒤에는 floor를 생성된 키(실제 id)로 좁힌다. (그 전까지는 피드가 조금 더 기다릴 뿐이다.)
+//   벌크 기록은 생성된 키를 받을 수 없으므로 한번 MAX(id)를 조회한다.
+// - 피드는 조회 전에 openReader(), 조회 후에 closeReader()
+//   : 조회하는 동안 끝난 트랜잭션의 floor도 포함한다. (조회가 보지 못한 채로 커밋되었을 수 있으므로)
+// : 이 애플리케이션(JVM) 안의 트랜잭션만 안다. 여러 인스턴스가 같은 DB에 쓰면 보장되지 않는다.
+// (SQLite는 쓰기가 한번에 하나라서 id가 커밋 순서와 같지만, 다른 DB에서도 맞도록)
+@Component
+@RequiredArgsConstructor
+public class ItemChangeLogWriter {
+  private static final String INSERT_SQL =
+    "INSERT INTO item_change_log (item_id, change_type, changed_at) VALUES (?, ?, ?)";
+  // 대량 등록(ItemBulkService): 이번 트랜잭션에서 추가한 Item
+  private static final String INSERT_ITEMS_AFTER_SQL = """
+    INSERT INTO item_change_log (item_id, change_type, changed_at)
+    SELECT id, ?, ? FROM item WHERE id > ? ORDER BY id
+    """;
+  // 벌크 변경(ItemQuerydslRepoImpl.recordMatching): INSERT ... SELECT로 추가한 기록에 종류와 시각을 채운다.
+  private static final String COMPLETE_MATCHING_SQL = """
+    UPDATE item_change_log SET change_type = ?, changed_at = ?
+    WHERE id >= ? AND change_type IS NULL
+    """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // 커밋되지 않은 트랜잭션 -> floor
+  private final Map<Object, Long> pending = new HashMap<>();
+  private final Set<Reader> readers = new HashSet<>();
+  // 할당된 것으로 확인한 가장 큰 기록 id
+  private long lastSeenId;
+
+  // Item 하나의 변경을 기록하고 기록의 id를 돌려준다. (ItemChangedEvent.version)
+  public long record(ItemChangeLog.Type type, Long itemId) {
+    boolean first = registerPending(this::afterLastSeen);
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.update(con -> {
+      PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+      ps.setLong(1, itemId);
+      ps.setString(2, type.name());
+      ps.setTimestamp(3, now);
+      return ps;
+    }, keyHolder);
+    long id = keyHolder.getKey().longValue();
+    synchronized (this) {
+      lastSeenId = Math.max(lastSeenId, id);
+      if (first) pending.computeIfPresent(TransactionSynchronizationManager.getResource(this), (transaction, floor) -> id);
+    }
+    return id;
+  }
+
+  // id가 afterItemId보다 큰 Item을 모두 추가(UPSERT)로 기록한다.
+  public void recordInsertedAfter(long afterItemId) {
+    registerPending(this::afterMax);
+    jdbcTemplate.update(
+      INSERT_ITEMS_AFTER_SQL,
+      ItemChangeLog.Type.UPSERT.name(), Timestamp.valueOf(LocalDateTime.now()), afterItemId
+    );
+  }
+
+  // floor: recordMatching 전에 받은 floor()
+  public void completeMatching(ItemChangeLog.Type type, long floor) {
+    jdbcTemplate.update(COMPLETE_MATCHING_SQL, type.name(), Timestamp.valueOf(LocalDateTime.now()), floor);
+  }
+
+  // 이번 트랜잭션의 기록 id는 모두 이보다 크거나 같다. (트랜잭션 밖에서는 0)
+  public long floor() {
+    registerPending(this::afterMax);
+    Object transaction = TransactionSynchronizationManager.isSynchronizationActive()
+      ? TransactionSynchronizationManager.getResource(this)
+      : null;
+    synchronized (this) {
+      Long floor = transaction == null ? null : pending.get(transaction);
+      return floor == null ? 0 : floor;
+    }
+  }
+
+  private synchronized long afterLastSeen() {
+    return lastSeenId + 1;
+  }
+
+  private long afterMax() {
+    Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM item_change_log", Long.class);
+    synchronized (this) {
+      if (maxId != null) lastSeenId = Math.max(lastSeenId, maxId);
+      return lastSeenId + 1;
+    }
+  }
+
+  // 트랜잭션마다 첫 기록 전에 한번 (이번에 등록했으면 true)
+  private boolean registerPending(LongSupplier floor) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return false;
+    if (TransactionSynchronizationManager.hasResource(this)) return false;
+
+    Object transaction = new Object();
+    long initial = floor.getAsLong();
+    synchronized (this) {
+      pending.put(transaction, initial);
+    }
+    TransactionSynchronizationManager.bindResource(this, transaction);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(ItemChangeLogWriter.this);
+        complete(transaction);
+      }
+    });
+    return true;
+  }
+
+  private synchronized void complete(Object transaction) {
+    Long floor = pending.remove(transaction);
+    if (floor == null) return;
+    for (Reader reader : readers) reader.horizon = Math.min(reader.horizon, floor);
+  }
+
+  // 조회 전에 (조회하는 트랜잭션의 첫 SQL보다 먼저)
+  public synchronized Reader openReader() {
+    // 같은 트랜잭션에서 쓴 것은 조회에서도 보이므로 제외한다. (테스트 등)
+    Reader reader = new Reader(TransactionSynchronizationManager.getResource(this));
+    readers.add(reader);
+    return reader;
+  }
+
+  // 조회 후에: 이 id보다 작은 기록만 내보낸다. (없으면 Long.MAX_VALUE)
+  public synchronized long closeReader(Reader reader) {
+    readers.remove(reader);
+    long horizon = reader.horizon;
+    for (Map.Entry<Object, Long> entry : pending.entrySet()) {
+      if (entry.getKey() != reader.own) horizon = Math.min(horizon, entry.getValue());
+    }
+    return horizon;
+  }
+
+  public static class Reader {
+    private final Object own;
+    private long horizon = Long.MAX_VALUE;
+
+    private Reader(Object own) {
+      this.own = own;
+    }
+  }
+}
@@ -1,15 +1,68 @@
 package com.example.querydsl.repo;
 
+import com.example.querydsl.dto.CursorPage;
+import com.example.querydsl.dto.ItemCursor;
+import com.example.querydsl.dto.ItemDto;
 import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.dto.ItemShopDto;
 import com.example.querydsl.entity.Item;
+import com.querydsl.core.Tuple;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemQuerydslRepo {
+  // searchCursor 한 페이지의 최대 크기
+  int MAX_CURSOR_SIZE = 100;
+
   List<Item> searchDynamic(ItemSearchParams searchParams);
 
   // Pageable
   Page<Item> searchDynamic(ItemSearchParams searchParams, Pageable pageable);
+
+  // Entity를 거치지 않고 바로 DTO로 Projection
+  List<ItemDto> searchDynamicDto(ItemSearchParams searchParams);
+
+  Page<ItemDto> searchDynamicDto(ItemSearchParams searchParams, Pageable pageable);
+
+  // 다른 곳(ItemNameIndex 등)에서 찾은 id 중 검색 조건에 맞는 것 (이름 순서로 최대 limit개)
+  List<ItemDto> searchDtoByIds(Collection<Long> ids, ItemSearchParams searchParams, int limit);
+
+  // Shop 정보까지 한번의 (left) join으로 조회
+  Page<ItemShopDto> searchWithShop(ItemSearchParams searchParams, Pageable pageable);
+
+  // 결과를 List로 모으지 않고 한 행씩 읽는다.
+  // 반드시 트랜잭션 안에서 사용하고, 다 쓰면 close 해야 한다. (try-with-resources)
+  Stream<ItemDto> streamDynamicDto(ItemSearchParams searchParams);
+
+  // 내보내기(export)용: Entity, DTO를 만들지 않고 컬럼 값만 id 순서로 한 행씩 읽는다.
+  // 컬럼: id, name, description, price, stock, shopId, updatedAt (ItemExportService.COLUMNS)
+  // streamDynamicDto와 마찬가지로 트랜잭션 안에서 사용하고 close 해야 한다.
+  Stream<Tuple> streamExportRows(ItemSearchParams searchParams);
+
+  // 대량 변경: 검색 조건에 맞는 행들을 UPDATE / DELETE 한번으로 처리한다.
+  // 반환값은 변경된 행의 수
+  // price = price * (100 + percent) / 100 (반올림)
+  long updatePriceByPercent(ItemSearchParams searchParams, int percent);
+
+  long updateStock(ItemSearchParams searchParams, int stock);
+
+  long deleteDynamic(ItemSearchParams searchParams);
+
+  // 재고 예약: 재고가 quantity 이상일 때만 차감한다. (조회 없이 UPDATE 한번)
+  // 차감했다면 true, 재고가 부족하거나 Item이 없다면 false
+  boolean reserveStock(Long itemId, int quantity);
+
+  // Keyset(Cursor)
+  // cursor가 null이면 첫 페이지, 아니라면 cursor의 정렬 기준이 sortKey보다 우선한다.
+  // size는 1 ~ MAX_CURSOR_SIZE (Entity로 읽으므로 한 페이지가 너무 크지 않도록)
+  CursorPage<Item> searchCursor(
+    ItemSearchParams searchParams,
+    ItemCursor cursor,
+    ItemCursor.SortKey sortKey,
+    int size
+  );
 }
@@ -1,54 +1,98 @@
 package com.example.querydsl.repo;
 
 
+import com.example.querydsl.cache.ItemCountCache;
+import com.example.querydsl.dto.CountedPage;
+import com.example.querydsl.dto.CursorPage;
+import com.example.querydsl.dto.ItemCursor;
+import com.example.querydsl.dto.ItemDto;
 import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.dto.ItemShopDto;
 import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.ItemChangeLog;
+import com.example.querydsl.event.ItemChangedEvent;
+import com.example.querydsl.metrics.QueryMetrics;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.example.querydsl.entity.QItem.item;
+import static com.example.querydsl.entity.QItemChangeLog.itemChangeLog;
+import static com.example.querydsl.entity.QShop.shop;
 
 // @Repository를 안붙여도 Bean으로서 관리가 된다.
 @Slf4j
 @RequiredArgsConstructor
 public class ItemQuerydslRepoImpl implements ItemQuerydslRepo {
   private final JPAQueryFactory queryFactory;
+  private final ItemCountCache countCache;
+  private final EntityManager entityManager;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ParallelCounter parallelCounter;
+  private final QueryMetrics queryMetrics;
+  private final ItemChangeLogWriter changeLogWriter;
+  // estimate 모드에서 정확한 Count를 하기 위해 읽을 수 있는 최대 행 수
+  @Value("${item.count.estimate-budget:10000}")
+  private long estimateBudget;
+  // estimate 모드에서 budget을 나눠 읽을 구간 수 (id 범위 전체에 고르게 흩어놓는다.)
+  @Value("${item.count.estimate-windows:10}")
+  private int estimateWindows;
+  @Value("${item.stream.fetch-size:500}")
+  private int streamFetchSize;
+  // 페이지 검색의 Count 쿼리를 content 조회와 동시에 실행
+  @Value("${item.search.parallel-count:false}")
+  private boolean parallelCount;
 
   @Override
+  @Transactional(readOnly = true)
   public List<Item> searchDynamic(ItemSearchParams searchParams) {
 
     log.info(searchParams.toString());
-    return queryFactory
+    return timed("searchDynamic", searchParams, () -> queryFactory
         .selectFrom(item)
-        .where(
-            nameEquals(searchParams.getName()),
-            priceBetween(searchParams.getPriceFloor(), searchParams.getPriceCeil())
-        )
-        .fetch();
+        .where(searchConditions(searchParams))
+        .orderBy(relevanceOrder(searchParams))
+        .fetch());
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Page<Item> searchDynamic(ItemSearchParams searchParams, Pageable pageable) {
     // pageable은 몇번째 페이지인지, 한 페이지 당 몇개의 데이터가 있는지, offset에 대한 정보가 있다.
 
     log.info(searchParams.toString());
     // Page를 만드는데 필요한 3가지 정보
     // 1. (Offset, Limit 으로 페이지 처리 된) 실제 데이터
-    List<Item> content = queryFactory
+    Supplier<List<Item>> content = () -> queryFactory
       .selectFrom(item)
-      .where(
-          nameEquals(searchParams.getName()),
-          priceBetween(searchParams.getPriceFloor(), searchParams.getPriceCeil())
-          )
+      .where(searchConditions(searchParams))
+      .orderBy(relevanceOrder(searchParams))
       .offset(pageable.getOffset())
       .limit(pageable.getPageSize())
       .fetch();
@@ -66,25 +110,514 @@ public class ItemQuerydslRepoImpl implements ItemQuerydslRepo {
 */
 
     // 3+@. 총 갯수를 반환할 수 있는 방법
-    JPAQuery<Long> countQuery = queryFactory
-      .select(item.count())
-      .from(item);
-    // PageableExcutionUtils.getPage()
+    // CountedPage.of()
     // 1. 첫번째 페이지
     // 2. (페이지 당 갯수를 채우지 못한) 마지막 페이지
     // 의 경우에는 Count 쿼리를 실행하지 않는다. <- 즉, 쿼리를 1번 덜 실행하여 서버의 부담을 덜어준다.
-    return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
-    // countQuery::fetchOne
-    // : fetchOne 메서드를 호출하면 총 item의 개수가 몇개인지 확인할 수 있다.
+    // (PageableExecutionUtils.getPage()와 같지만, 추정치 여부(exact)를 함께 담는다.)
+    return countedPage("searchDynamic.page", searchParams, pageable, content);
+  }
+
+  // ---------------------------------------
+  // DTO Projection
+  // : Entity로 조회하면 영속성 컨텍스트에 올라가고(+ 변경 감지를 위한 스냅샷),
+  // 다시 DTO로 옮기는 비용이 든다. 필요한 컬럼만 바로 DTO로 만든다.
+  // : 조회만 하므로 readOnly 트랜잭션 (flush를 하지 않는다.)
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<ItemDto> searchDynamicDto(ItemSearchParams searchParams) {
+    log.info(searchParams.toString());
+    return timed("searchDynamicDto", searchParams, () -> queryFactory
+      .select(itemDto())
+      .from(item)
+      .where(searchConditions(searchParams))
+      .orderBy(relevanceOrder(searchParams))
+      .fetch());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<ItemDto> searchDynamicDto(ItemSearchParams searchParams, Pageable pageable) {
+    log.info(searchParams.toString());
+    return countedPage("searchDynamicDto.page", searchParams, pageable, () -> queryFactory
+      .select(itemDto())
+      .from(item)
+      .where(searchConditions(searchParams))
+      .orderBy(relevanceOrder(searchParams))
+      .offset(pageable.getOffset())
+      .limit(pageable.getPageSize())
+      .fetch());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<ItemDto> searchDtoByIds(Collection<Long> ids, ItemSearchParams searchParams, int limit) {
+    if (ids.isEmpty()) return List.of();
+    return timed("searchDtoByIds", searchParams, () -> queryFactory
+      .select(itemDto())
+      .from(item)
+      .where(item.id.in(ids))
+      .where(searchConditions(searchParams))
+      .orderBy(item.name.asc(), item.id.asc())
+      .limit(limit)
+      .fetch());
+  }
+
+  // Item마다 getShop()으로 Shop을 읽으면 Item 수만큼 SELECT가 추가로 실행된다. (N+1)
+  // Shop이 없는 Item도 포함해야 하므로 left join으로 필요한 컬럼만 한번에 가져온다.
+  @Override
+  @Transactional(readOnly = true)
+  public Page<ItemShopDto> searchWithShop(ItemSearchParams searchParams, Pageable pageable) {
+    log.info(searchParams.toString());
+    // Count는 join 없이 item 테이블만으로 계산한다.
+    return countedPage("searchWithShop.page", searchParams, pageable, () -> queryFactory
+      .select(Projections.constructor(
+        ItemShopDto.class,
+        item.name,
+        item.price,
+        item.stock,
+        shop.id,
+        shop.name
+      ))
+      .from(item)
+      .leftJoin(item.shop, shop)
+      .where(searchConditions(searchParams))
+      .orderBy(relevanceOrder(searchParams))
+      .offset(pageable.getOffset())
+      .limit(pageable.getPageSize())
+      .fetch());
+  }
+
+  // 호출한 쪽의 트랜잭션 안에서 읽어야 하므로 여기서는 @Transactional을 붙이지 않는다.
+  // (붙이면 메서드가 끝나면서 트랜잭션이 끝나고, Stream을 읽을 수 없게 된다.)
+  @Override
+  public Stream<ItemDto> streamDynamicDto(ItemSearchParams searchParams) {
+    log.info(searchParams.toString());
+    // DTO Projection이라 영속성 컨텍스트에 쌓이는 Entity가 없다.
+    // fetch size: JDBC 드라이버가 한번에 가져오는 행의 수 (전체를 메모리에 올리지 않는다.)
+    return queryFactory
+      .select(itemDto())
+      .from(item)
+      .where(searchConditions(searchParams))
+      .orderBy(relevanceOrder(searchParams))
+      .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+      .stream();
+  }
+
+  // 영속성 컨텍스트에도, 결과 List에도 쌓이는 것이 없다.
+  // Hibernate의 stream()은 forward-only ScrollableResults로 읽는다.
+  // id 순서: 같은 조건이면 항상 같은 순서로 내보낸다. (PK 인덱스를 따라 읽으므로 정렬 비용이 없다.)
+  @Override
+  public Stream<Tuple> streamExportRows(ItemSearchParams searchParams) {
+    log.info("export: {}", searchParams);
+    return queryFactory
+      .select(item.id, item.name, item.description, item.price, item.stock, item.shop.id, item.updatedAt)
+      .from(item)
+      .where(searchConditions(searchParams))
+      .orderBy(item.id.asc())
+      .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+      .stream();
+  }
+
+  // ItemDto(name, cost, stock) 생성자를 사용 (cost <- price)
+  private ConstructorExpression<ItemDto> itemDto() {
+    return Projections.constructor(ItemDto.class, item.name, item.price, item.stock);
+  }
+
+  // ---------------------------------------
+  // 총 갯수
+
+  // content 조회 결과와 총 갯수로 Page를 만든다.
+  // parallelCount: Count 쿼리를 다른 커넥션(스레드)에서 content 조회와 동시에 실행한다.
+  // (순서대로 실행하면 응답 시간은 두 쿼리의 합, 동시에 실행하면 둘 중 긴 쪽)
+  private <T> Page<T> countedPage(
+    String method,
+    ItemSearchParams searchParams,
+    Pageable pageable,
+    Supplier<List<T>> query
+  ) {
+    Supplier<List<T>> contentQuery = () -> timed(method, searchParams, query);
+    if (!parallelCount || pageable.isUnpaged())
+      return CountedPage.of(contentQuery.get(), pageable, () -> cachedCount(searchParams));
+
+    ParallelCounter.CountTask countTask = parallelCounter.submit(
+      searchParams.cacheKey(),
+      () -> count(searchParams)
+    );
+    try {
+      return CountedPage.of(contentQuery.get(), pageable, countTask::join);
+    } finally {
+      // content 조회가 실패했거나 Count가 필요 없었던 경우(첫 / 마지막 페이지),
+      // 아직 실행 중인 Count 쿼리를 취소한다. (이미 끝났다면 아무 일도 없다.)
+      countTask.cancel();
+    }
+  }
+
+  // 검색 조건이 같은 Count 결과를 캐시에서 재사용한다.
+  private CountedPage.Total cachedCount(ItemSearchParams searchParams) {
+    return countCache.get(searchParams.cacheKey(), () -> count(searchParams));
+  }
+
+  private CountedPage.Total count(ItemSearchParams searchParams) {
+    if (Boolean.TRUE.equals(searchParams.getEstimate())) return estimateCount(searchParams);
+    return exactCount(searchParams);
+  }
+
+  private CountedPage.Total exactCount(ItemSearchParams searchParams) {
+    // Count 쿼리도 content와 같은 조건을 사용해야 한다.
+    Long count = queryMetrics.record("count", shape(searchParams), () -> queryFactory
+      .select(item.count())
+      .from(item)
+      .where(searchConditions(searchParams))
+      .fetchOne(), result -> 1);
+    return new CountedPage.Total(count == null ? 0 : count, true);
+  }
+
+  // id의 범위(min ~ max)가 budget 이하라면 정확한 Count를 해도 budget 이하의 행만 읽는다.
+  // 그보다 크다면, id 범위에 고르게 흩어진 k개의 구간(합쳐서 budget개의 id)에서 조건에 맞는 비율을 세고 전체 범위에 곱한다.
+  // : 앞쪽 구간만 세면 오래된 Item과 최근 Item의 분포가 다를 때 (Ex. 최근에 등록된 상품만 조건에 맞을 때) 크게 틀린다.
+  // (id는 PK이므로 min, max와 범위 조회는 인덱스로 처리된다.)
+  private CountedPage.Total estimateCount(ItemSearchParams searchParams) {
+    NumberExpression<Long> min = item.id.min();
+    NumberExpression<Long> max = item.id.max();
+    Tuple range = queryFactory
+      .select(min, max)
+      .from(item)
+      .fetchOne();
+    Long minId = range == null ? null : range.get(min);
+    Long maxId = range == null ? null : range.get(max);
+    if (minId == null || maxId == null) return new CountedPage.Total(0, true);
+
+    long idRange = maxId - minId + 1;
+    if (idRange <= estimateBudget) return exactCount(searchParams);
+
+    int windows = (int) Math.max(1, Math.min(estimateWindows, estimateBudget));
+    long width = estimateBudget / windows;
+    BooleanExpression sample = null;
+    for (int i = 0; i < windows; i++) {
+      long start = minId + idRange * i / windows;
+      BooleanExpression window = item.id.between(start, start + width - 1);
+      sample = sample == null ? window : sample.or(window);
+    }
+    BooleanExpression sampleRange = sample;
+    Long sampled = queryMetrics.record("estimateCount", shape(searchParams), () -> queryFactory
+      .select(item.count())
+      .from(item)
+      .where(searchConditions(searchParams))
+      .where(sampleRange)
+      .fetchOne(), result -> 1);
+    long estimated = Math.round((sampled == null ? 0 : sampled) * ((double) idRange / (width * windows)));
+    return new CountedPage.Total(estimated, false);
+  }
+
+  // ---------------------------------------
+  // 대량 변경 (Bulk Update / Delete)
+  // : Entity를 하나씩 조회해서 변경 감지로 바꾸면 N번의 UPDATE가 나가지만,
+  // UPDATE ... WHERE 한번으로 처리한다.
+  // : 벌크 연산은 영속성 컨텍스트를 거치지 않고 DB에 바로 반영된다.
+  // 1. 실행 전: 아직 반영되지 않은 변경 사항을 flush
+  // 2. 실행 후: 영속성 컨텍스트에 남아있는 (이제는 오래된) Entity를 clear
+  // : @LastModifiedDate도 동작하지 않으므로 updatedAt을 직접 변경한다.
+  // : Entity Listener도 동작하지 않으므로 변경 기록을 직접 남긴다.
+  // 1. INSERT INTO item_change_log SELECT ... WHERE <검색 조건> (recordMatching)
+  // 2. UPDATE / DELETE ... WHERE <검색 조건> AND 1에서 기록한 Item (가격 조건은 바뀌기 전의 가격으로 기록해야 하므로 기록이 먼저)
+  // 3. 기록에 종류와 시각을 채운다. (ItemChangeLogWriter.completeMatching)
+  // : 어느 단계도 id를 애플리케이션으로 가져오지 않는다.
+
+  @Override
+  @Transactional
+  public long updatePriceByPercent(ItemSearchParams searchParams, int percent) {
+    entityManager.flush();
+    LocalDateTime now = LocalDateTime.now();
+    // 정수 나눗셈이므로 50을 더해서 반올림
+    // : 가격 * (100 + percent)가 INT를 넘지 않도록 BIGINT로 계산하고, 결과만 INT로 되돌린다.
+    // (결과가 INT를 넘으면 DB가 UPDATE를 실패시킨다.)
+    NumberExpression<Integer> newPrice = item.price.longValue()
+      .multiply(100 + percent)
+      .add(50)
+      .divide(100)
+      .intValue();
+    long updated = timedUpdate("updatePriceByPercent", searchParams, () -> {
+      long floor = recordMatching(searchParams);
+      long rows = queryFactory
+        .update(item)
+        .set(item.price, newPrice)
+        .set(item.updatedAt, now)
+        .where(searchConditions(searchParams))
+        .where(recorded(floor))
+        .execute();
+      changeLogWriter.completeMatching(ItemChangeLog.Type.UPSERT, floor);
+      return rows;
+    });
+    return afterBulk(updated, ItemChangedEvent.Type.BULK_UPDATED);
+  }
+
+  @Override
+  @Transactional
+  public long updateStock(ItemSearchParams searchParams, int stock) {
+    entityManager.flush();
+    LocalDateTime now = LocalDateTime.now();
+    long updated = timedUpdate("updateStock", searchParams, () -> {
+      long floor = recordMatching(searchParams);
+      long rows = queryFactory
+        .update(item)
+        .set(item.stock, stock)
+        .set(item.updatedAt, now)
+        .where(searchConditions(searchParams))
+        .where(recorded(floor))
+        .execute();
+      changeLogWriter.completeMatching(ItemChangeLog.Type.UPSERT, floor);
+      return rows;
+    });
+    return afterBulk(updated, ItemChangedEvent.Type.BULK_UPDATED);
+  }
+
+  @Override
+  @Transactional
+  public long deleteDynamic(ItemSearchParams searchParams) {
+    entityManager.flush();
+    long deleted = timedUpdate("deleteDynamic", searchParams, () -> {
+      long floor = recordMatching(searchParams);
+      long rows = queryFactory
+        .delete(item)
+        .where(searchConditions(searchParams))
+        .where(recorded(floor))
+        .execute();
+      changeLogWriter.completeMatching(ItemChangeLog.Type.DELETE, floor);
+      return rows;
+    });
+    return afterBulk(deleted, ItemChangedEvent.Type.BULK_DELETED);
+  }
+
+  // 검색 조건에 맞는 Item을 변경 기록에 추가한다. (INSERT ... SELECT 한번)
+  // : 종류와 시각은 비워두고, completeMatching이 채울 때까지 이번 트랜잭션의 기록을 구분하는 데 사용한다.
+  // (다른 트랜잭션의 기록은 항상 종류가 있고, 이 기록은 커밋 전에는 다른 트랜잭션에 보이지 않는다.)
+  // 이번 트랜잭션의 기록 id는 모두 돌려주는 floor보다 크거나 같다.
+  private long recordMatching(ItemSearchParams searchParams) {
+    long floor = changeLogWriter.floor();
+    queryFactory
+      .insert(itemChangeLog)
+      .columns(itemChangeLog.itemId)
+      .select(JPAExpressions
+        .select(item.id)
+        .from(item)
+        .where(searchConditions(searchParams)))
+      .execute();
+    return floor;
+  }
+
+  // recordMatching이 기록한 Item
+  // : 기록과 변경 사이에 다른 트랜잭션이 커밋해서 검색 조건에 새로 맞게 된 Item은 바꾸지 않는다. (기록 없이 바뀌지 않도록)
+  private BooleanExpression recorded(long floor) {
+    return item.id.in(JPAExpressions
+      .select(itemChangeLog.itemId)
+      .from(itemChangeLog)
+      .where(
+        itemChangeLog.id.goe(floor),
+        itemChangeLog.changeType.isNull()
+      ));
+  }
+
+  // 재고 예약
+  // : 조회 -> 차감 -> 저장(read-modify-write)은 동시에 요청이 들어오면 서로의 변경을 덮어쓴다.
+  // : UPDATE item SET stock = stock - ? WHERE id = ? AND stock >= ?
+  // 조건 확인과 차감이 하나의 문장으로 실행되므로 재고가 음수가 되지 않는다.
+  @Override
+  @Transactional
+  public boolean reserveStock(Long itemId, int quantity) {
+    if (quantity < 1) throw new IllegalArgumentException("quantity must be positive");
+
+    entityManager.flush();
+    long updated = queryFactory
+      .update(item)
+      .set(item.stock, item.stock.subtract(quantity))
+      .set(item.updatedAt, LocalDateTime.now())
+      .where(
+        item.id.eq(itemId),
+        item.stock.goe(quantity)
+      )
+      .execute();
+    if (updated == 0) return false;
+
+    long version = changeLogWriter.record(ItemChangeLog.Type.UPSERT, itemId);
+    entityManager.clear();
+    eventPublisher.publishEvent(ItemChangedEvent.stockChanged(itemId, version));
+    return true;
+  }
+
+  // ---------------------------------------
+  // 실행 시간, 행 수 기록 (QueryMetrics)
+
+  private <T> List<T> timed(String method, ItemSearchParams searchParams, Supplier<List<T>> query) {
+    return queryMetrics.record(method, shape(searchParams), query, List::size);
+  }
+
+  private long timedUpdate(String method, ItemSearchParams searchParams, Supplier<Long> query) {
+    return queryMetrics.record(method, shape(searchParams), query, Long::longValue);
+  }
+
+  // 사용된 검색 조건의 조합 (searchConditions와 같은 이름)
+  // 예) name+priceBetween, priceGoe, keyword+shopName, none
+  static String shape(ItemSearchParams searchParams) {
+    StringJoiner shape = new StringJoiner("+");
+    if (searchParams.getName() != null) shape.add("name");
+    if (matchQuery(searchParams.getKeyword()) != null) shape.add("keyword");
+    Integer floor = searchParams.getPriceFloor();
+    Integer ceil = searchParams.getPriceCeil();
+    if (floor != null && ceil != null) shape.add("priceBetween");
+    else if (ceil != null) shape.add("priceLoe");
+    else if (floor != null) shape.add("priceGoe");
+    if (searchParams.getShopId() != null) shape.add("shopId");
+    if (searchParams.getShopName() != null) shape.add("shopName");
+    return shape.length() == 0 ? "none" : shape.toString();
+  }
+
+  private long afterBulk(long rows, ItemChangedEvent.Type type) {
+    entityManager.clear();
+    // Entity Listener가 동작하지 않으므로 변경 이벤트를 직접 발행한다.
+    if (rows > 0) eventPublisher.publishEvent(ItemChangedEvent.bulk(type, changeLogWriter.floor()));
+    return rows;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<Item> searchCursor(
+    ItemSearchParams searchParams,
+    ItemCursor cursor,
+    ItemCursor.SortKey sortKey,
+    int size
+  ) {
+    // offset은 앞의 행들을 전부 읽고 버리지만,
+    // keyset은 (정렬 기준, id)가 마지막으로 본 값보다 큰 행부터 읽으므로 몇번째 페이지든 비용이 같다.
+    log.info("{}, cursor: {}", searchParams, cursor);
+    // size + 1이 넘치거나, 테이블 전체를 Entity로 읽지 않도록
+    if (size < 1 || size > MAX_CURSOR_SIZE)
+      throw new IllegalArgumentException("size must be between 1 and " + MAX_CURSOR_SIZE);
+    if (cursor != null) sortKey = cursor.getSortKey();
+
+    // 다음 페이지가 있는지 확인하기 위해 1개 더 가져온다.
+    OrderSpecifier<?>[] order = cursorOrder(sortKey);
+    List<Item> rows = timed("searchCursor", searchParams, () -> queryFactory
+      .selectFrom(item)
+      .where(searchConditions(searchParams))
+      .where(afterCursor(cursor))
+      .orderBy(order)
+      .limit(size + 1)
+      .fetch());
+
+    boolean hasNext = rows.size() > size;
+    List<Item> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+    String nextCursor = hasNext
+      ? ItemCursor.of(sortKey, content.get(content.size() - 1)).encode()
+      : null;
+    return new CursorPage<>(content, nextCursor, hasNext);
+  }
+
+  // ---------------------------------------
+  // keyset 정렬 & 조건
+
+  // 정렬 기준이 같은 행이 여러개일 수 있으므로 id로 한번 더 정렬해서 순서를 고정한다.
+  // null은 항상 앞에 오도록 고정한다. (DB마다 기본 null 정렬 위치가 다르다.)
+  private OrderSpecifier<?>[] cursorOrder(ItemCursor.SortKey sortKey) {
+    return switch (sortKey) {
+      case PRICE -> new OrderSpecifier<?>[]{ item.price.asc().nullsFirst(), item.id.asc() };
+      case NAME -> new OrderSpecifier<?>[]{ item.name.asc().nullsFirst(), item.id.asc() };
+    };
+  }
+
+  private BooleanExpression afterCursor(ItemCursor cursor) {
+    if (cursor == null) return null;
+    return switch (cursor.getSortKey()) {
+      case PRICE -> priceAfter(cursor.getPrice(), cursor.getId());
+      case NAME -> nameAfter(cursor.getName(), cursor.getId());
+    };
+  }
+
+  // (price, id) > (lastPrice, lastId)
+  private BooleanExpression priceAfter(Integer lastPrice, Long lastId) {
+    // 마지막 값이 null이면, 남은 null들(id가 더 큰) + null이 아닌 모든 행
+    if (lastPrice == null)
+      return item.price.isNull().and(item.id.gt(lastId)).or(item.price.isNotNull());
+    return item.price.gt(lastPrice)
+      .or(item.price.eq(lastPrice).and(item.id.gt(lastId)));
+  }
+
+  // (name, id) > (lastName, lastId)
+  private BooleanExpression nameAfter(String lastName, Long lastId) {
+    if (lastName == null)
+      return item.name.isNull().and(item.id.gt(lastId)).or(item.name.isNotNull());
+    return item.name.gt(lastName)
+      .or(item.name.eq(lastName).and(item.id.gt(lastId)));
   }
 
   // ---------------------------------------
   // where 다중 조건으로 동적쿼리 구현
 
+  // 검색 조건 전체 (where는 null인 조건을 무시한다.)
+  private Predicate[] searchConditions(ItemSearchParams searchParams) {
+    return new Predicate[]{
+      nameEquals(searchParams.getName()),
+      keywordMatches(searchParams.getKeyword()),
+      priceBetween(searchParams.getPriceFloor(), searchParams.getPriceCeil()),
+      shopIdEquals(searchParams.getShopId()),
+      shopNameEquals(searchParams.getShopName())
+    };
+  }
+
   private BooleanExpression nameEquals(String name) {
     return name != null ? item.name.eq(name) : null;
   }
 
+  // ---------------------------------------
+  // 전문 검색 (FullTextFunctionContributor에 등록한 fts_match, fts_rank)
+  // : LIKE '%검색어%'는 인덱스를 사용할 수 없어 전체 테이블을 읽는다.
+
+  private BooleanExpression keywordMatches(String keyword) {
+    String query = matchQuery(keyword);
+    return query != null
+      ? Expressions.booleanTemplate("fts_match({0}, {1})", item.id, query)
+      : null;
+  }
+
+  // 검색어가 있으면 관련도가 높은 순서로 (같으면 id 순서로)
+  private OrderSpecifier<?>[] relevanceOrder(ItemSearchParams searchParams) {
+    String query = matchQuery(searchParams.getKeyword());
+    if (query == null) return new OrderSpecifier<?>[0];
+    return new OrderSpecifier<?>[]{
+      Expressions.numberTemplate(Double.class, "fts_rank({0}, {1})", item.id, query).desc(),
+      item.id.asc()
+    };
+  }
+
+  // 검색어 -> "단어1"* "단어2"* (모든 단어를 앞부분 일치로 포함)
+  // : 글자, 숫자가 아닌 문자로 단어를 나눈다. (FTS5 unicode61, H2 전문 검색의 단어 구분과 같게)
+  // : 따옴표로 감싸서 사용자의 입력이 FTS 문법(AND, OR, NOT, NEAR)으로 해석되지 않게 한다.
+  // : H2 전문 검색은 따옴표와 *를 구분자로 보고 무시하므로 같은 문자열을 그대로 사용한다.
+  private static String matchQuery(String keyword) {
+    if (keyword == null) return null;
+    String query = Arrays.stream(keyword.split("[^\\p{L}\\p{N}]+"))
+      .filter(word -> !word.isEmpty())
+      .map(word -> "\"" + word + "\"*")
+      .collect(Collectors.joining(" "));
+    return query.isEmpty() ? null : query;
+  }
+
+  // Shop의 id는 item 테이블의 외래키이므로 join 없이 비교한다.
+  private BooleanExpression shopIdEquals(Long shopId) {
+    return shopId != null ? item.shop.id.eq(shopId) : null;
+  }
+
+  // join 없이 서브쿼리로 비교한다. (UPDATE / DELETE의 where에서도 사용할 수 있도록)
+  private BooleanExpression shopNameEquals(String shopName) {
+    return shopName != null
+      ? item.shop.id.in(JPAExpressions
+          .select(shop.id)
+          .from(shop)
+          .where(shop.name.eq(shopName)))
+      : null;
+  }
+
   private BooleanExpression priceBetween(Integer floor, Integer ceil) {
     if (floor == null && ceil == null) return null;
     if (floor == null) return priceLoe(ceil);
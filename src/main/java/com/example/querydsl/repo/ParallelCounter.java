@@ -0,0 +1,98 @@
+package com.example.querydsl.repo;
+
+import com.example.querydsl.cache.ItemCountCache;
+import com.example.querydsl.dto.CountedPage;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+// Count 쿼리를 별도의 스레드 + 별도의 트랜잭션(커넥션)에서 실행한다.
+// : 요청 스레드는 그동안 content 쿼리를 실행하고, 필요할 때만 join() 한다.
+// : Count가 필요 없어지면(첫 / 마지막 페이지, content 조회 실패) cancel()로 DB의 쿼리까지 취소한다.
+@Slf4j
+@Component
+public class ParallelCounter {
+  private final ItemCountCache countCache;
+  private final EntityManager entityManager;
+  private final Executor executor;
+  private final TransactionTemplate countTx;
+
+  public ParallelCounter(
+    ItemCountCache countCache,
+    EntityManager entityManager,
+    @Qualifier("searchCountExecutor")
+    Executor executor,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.countCache = countCache;
+    this.entityManager = entityManager;
+    this.executor = executor;
+    this.countTx = new TransactionTemplate(transactionManager);
+    // 요청 스레드의 트랜잭션과 섞이지 않도록 항상 새 트랜잭션
+    // (풀이 가득 차 요청 스레드에서 실행되는 경우에도)
+    this.countTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.countTx.setReadOnly(true);
+  }
+
+  // 캐시에 있으면 바로 완료된 CountTask를 돌려준다.
+  public CountTask submit(String cacheKey, Supplier<CountedPage.Total> counter) {
+    CountedPage.Total cached = countCache.getIfPresent(cacheKey);
+    if (cached != null) return new CountTask(CompletableFuture.completedFuture(cached));
+
+    // 요청 스레드에서 받아둔다. (Count가 시작되기 전에 일어난 무효화도 놓치지 않도록)
+    long generation = countCache.generation();
+    CountTask task = new CountTask();
+    task.future = CompletableFuture.supplyAsync(() -> countTx.execute(status -> {
+      task.session = entityManager.unwrap(Session.class);
+      CountedPage.Total total = counter.get();
+      countCache.put(cacheKey, total, generation);
+      return total;
+    }), executor);
+    return task;
+  }
+
+  public static class CountTask {
+    private CompletableFuture<CountedPage.Total> future;
+    // 실행 중인 Count 쿼리의 Session (cancelQuery 용)
+    private volatile Session session;
+
+    private CountTask() {}
+
+    private CountTask(CompletableFuture<CountedPage.Total> future) {
+      this.future = future;
+    }
+
+    public CountedPage.Total join() {
+      try {
+        return future.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) throw cause;
+        throw e;
+      }
+    }
+
+    // 아직 시작하지 않았다면 실행하지 않고, 실행 중이라면 JDBC Statement.cancel()로 중단한다.
+    public void cancel() {
+      if (future.isDone()) return;
+      future.cancel(false);
+      Session running = session;
+      if (running == null) return;
+      try {
+        running.cancelQuery();
+      } catch (RuntimeException e) {
+        // 그 사이 Count가 끝나 Session이 닫힌 경우
+        log.debug("count query already finished: {}", e.getMessage());
+      }
+    }
+  }
+}
@@ -7,6 +7,7 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -32,6 +33,8 @@ public class QueryDslRepo {
   }
 */
 
+  // 저장과 조회를 하나의 (쓰기) 트랜잭션에서 실행하고, 끝나면 커넥션을 돌려준다.
+  @Transactional
   public void helloQuerydsl() {
     itemRepository.save(Item.builder()
         .name("new item")
@@ -0,0 +1,16 @@
+package com.example.querydsl.repo;
+
+import com.example.querydsl.entity.Shop;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ShopQuerydslRepo {
+  // 쿼리 캐시를 사용하는 조회
+  // : 결과(id 목록)는 쿼리 캐시에, Shop은 2차 캐시에서 읽는다.
+  // : shop 테이블이 변경되면 (Hibernate를 통해) 캐시된 결과는 사용되지 않는다.
+  List<Shop> findAllCached();
+
+  // shopId -> 이름
+  Map<Long, String> findNamesCached();
+}
@@ -0,0 +1,40 @@
+package com.example.querydsl.repo;
+
+import com.example.querydsl.entity.Shop;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.example.querydsl.entity.QShop.shop;
+
+@RequiredArgsConstructor
+public class ShopQuerydslRepoImpl implements ShopQuerydslRepo {
+  // ehcache.xml의 region
+  private static final String QUERY_REGION = "shop-queries";
+
+  private final JPAQueryFactory queryFactory;
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<Shop> findAllCached() {
+    return queryFactory
+      .selectFrom(shop)
+      .orderBy(shop.id.asc())
+      .setHint(HibernateHints.HINT_CACHEABLE, true)
+      .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_REGION)
+      .fetch();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, String> findNamesCached() {
+    return findAllCached()
+      .stream()
+      .collect(Collectors.toMap(Shop::getId, found -> String.valueOf(found.getName())));
+  }
+}
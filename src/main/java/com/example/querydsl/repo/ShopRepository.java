@@ -3,5 +3,6 @@ package com.example.querydsl.repo;
 import com.example.querydsl.entity.Shop;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ShopRepository extends JpaRepository<Shop, Long> {
+public interface ShopRepository
+  extends JpaRepository<Shop, Long>, ShopQuerydslRepo {
 }
@@ -0,0 +1,88 @@
+package com.example.querydsl.service;
+
+import com.example.querydsl.dto.BulkResult;
+import com.example.querydsl.dto.ItemCreateDto;
+import com.example.querydsl.event.ItemChangedEvent;
+import com.example.querydsl.repo.ItemChangeLogWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+// 대량 Item 등록
+// : BaseEntity.id가 IDENTITY 전략이라 Hibernate는 INSERT를 한 건씩 실행한다. (JDBC batch 불가)
+// : 영속성 컨텍스트를 거치지 않고 JDBC batch INSERT로 batchSize개씩 묶어서 보낸다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemBulkService {
+  // JPA를 거치지 않으므로 Auditing(createdAt, updatedAt)도 직접 채운다.
+  private static final String INSERT_SQL = """
+    INSERT INTO item (name, description, price, stock, shop_id, created_at, updated_at)
+    VALUES (?, ?, ?, ?, ?, ?, ?)
+    """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ItemChangeLogWriter changeLogWriter;
+  private final ApplicationEventPublisher eventPublisher;
+  @Value("${item.bulk.batch-size:500}")
+  private int batchSize;
+  // 한 요청으로 등록할 수 있는 최대 Item 수 (한 트랜잭션이 너무 오래 쓰기 잠금을 잡지 않도록)
+  @Value("${item.bulk.max-items:10000}")
+  private int maxItems;
+
+  // JpaTransactionManager의 트랜잭션 안에서 JdbcTemplate도 같은 커넥션을 사용한다.
+  @Transactional
+  // 비어 있거나 null인 항목이 있거나 maxItems를 넘으면 IllegalArgumentException
+  public BulkResult ingest(List<ItemCreateDto> items) {
+    long start = System.nanoTime();
+    if (items == null || items.isEmpty()) {
+      // 변경이 없으므로 이벤트도 발행하지 않는다. (받는 쪽에서 전체 다시 계산이 일어난다.)
+      return BulkResult.of(0, start);
+    }
+    if (items.size() > maxItems)
+      throw new IllegalArgumentException("at most " + maxItems + " items per request, got " + items.size());
+    if (items.stream().anyMatch(Objects::isNull))
+      throw new IllegalArgumentException("items must not contain null");
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    // 이번에 추가되는 Item의 id는 모두 이보다 크다.
+    Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM item", Long.class);
+
+    jdbcTemplate.batchUpdate(INSERT_SQL, items, batchSize, (ps, dto) -> bind(ps, dto, now));
+    // 변경 피드: 모든 행이 같은 시각(now)이지만, 피드는 시각이 아니라 변경 기록의 순서로 읽는다.
+    changeLogWriter.recordInsertedAfter(maxId == null ? 0 : maxId);
+    // 캐시 등이 비워지도록 (커밋 후에 처리된다.)
+    eventPublisher.publishEvent(ItemChangedEvent.bulk(ItemChangedEvent.Type.BULK_INSERTED, changeLogWriter.floor()));
+
+    BulkResult result = BulkResult.of(items.size(), start);
+    log.info("bulk insert: {}", result);
+    return result;
+  }
+
+  private void bind(PreparedStatement ps, ItemCreateDto dto, Timestamp now) throws SQLException {
+    ps.setString(1, dto.getName());
+    ps.setString(2, dto.getDescription());
+    setInteger(ps, 3, dto.getPrice());
+    setInteger(ps, 4, dto.getStock());
+    if (dto.getShopId() == null) ps.setNull(5, Types.BIGINT);
+    else ps.setLong(5, dto.getShopId());
+    ps.setTimestamp(6, now);
+    ps.setTimestamp(7, now);
+  }
+
+  private void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+    if (value == null) ps.setNull(index, Types.INTEGER);
+    else ps.setInt(index, value);
+  }
+}
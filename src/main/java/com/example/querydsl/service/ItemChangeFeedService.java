@@ -0,0 +1,125 @@
+package com.example.querydsl.service;
+
+import com.example.querydsl.dto.ItemChange;
+import com.example.querydsl.dto.ItemChangeCursor;
+import com.example.querydsl.dto.ItemChangePage;
+import com.example.querydsl.dto.ItemDto;
+import com.example.querydsl.entity.ItemChangeLog;
+import com.example.querydsl.repo.ItemChangeLogWriter;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static com.example.querydsl.entity.QItem.item;
+import static com.example.querydsl.entity.QItemChangeLog.itemChangeLog;
+
+// 변경 피드: 마지막으로 동기화한 뒤 추가/수정/삭제된 Item
+// : 변경 기록(ItemChangeLog)을 id 순서로 keyset 조회하고, Item의 현재 값을 함께 읽는다.
+// 따라서 비용은 전체 Item 수가 아니라 변경된 수에 비례한다.
+// : updatedAt은 커밋이 아니라 변경할 때의 시각이라, 먼저 시작해서 늦게 커밋된 트랜잭션의 변경이
+// 이미 지나간 커서 뒤로 들어올 수 있다. (얼마나 늦게 커밋될지 모르므로 지연(lag)으로는 막을 수 없다.)
+// 변경 기록의 id도 할당 순서이므로, 아직 커밋되지 않은 트랜잭션이 받을 수 있는 id부터는 내보내지 않는다.
+// (ItemChangeLogWriter의 horizon) 그 트랜잭션이 끝나면 다음 요청에서 이어서 받는다.
+// : 보관 기간이 지나 지워진 기록 뒤에서 시작하면 ExpiredException (ItemChangeLogRetention)
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemChangeFeedService {
+  private final JPAQueryFactory queryFactory;
+  private final ItemChangeLogWriter changeLogWriter;
+  private final ItemChangeLogRetention retention;
+
+  @Transactional(readOnly = true)
+  public ItemChangePage changes(ItemChangeCursor cursor, int size) {
+    return read(cursor::getLogId, size);
+  }
+
+  // since 이후(같은 시각 포함)에 기록된 변경부터
+  // : 시각은 커밋 순서가 아니므로 시작점을 찾을 때만 사용한다. 이어서 받을 때는 커서를 사용해야 한다.
+  @Transactional(readOnly = true)
+  public ItemChangePage changes(LocalDateTime since, int size) {
+    return read(() -> {
+      Long before = queryFactory
+        .select(itemChangeLog.id.max())
+        .from(itemChangeLog)
+        .where(itemChangeLog.changedAt.lt(since))
+        .fetchOne();
+      return before == null ? 0 : before;
+    }, size);
+  }
+
+  private ItemChangePage read(LongSupplier after, int size) {
+    // 첫 SQL보다 먼저 (조회 도중에 커밋된 트랜잭션도 horizon에 포함되도록)
+    ItemChangeLogWriter.Reader reader = changeLogWriter.openReader();
+    long afterId;
+    List<Tuple> rows;
+    long horizon;
+    try {
+      afterId = after.getAsLong();
+      // 다음 페이지가 있는지 확인하기 위해 1개 더 가져온다.
+      rows = queryFactory
+        .select(itemChangeLog.id, itemChangeLog.itemId, itemChangeLog.changeType, itemChangeLog.changedAt,
+          item.id, item.name, item.price, item.stock)
+        .from(itemChangeLog)
+        .leftJoin(item).on(item.id.eq(itemChangeLog.itemId))
+        .where(itemChangeLog.id.gt(afterId))
+        .orderBy(itemChangeLog.id.asc())
+        .limit(size + 1)
+        .fetch();
+    } finally {
+      horizon = changeLogWriter.closeReader(reader);
+    }
+    // 조회한 뒤에 확인한다. (조회하는 동안 지워졌을 수도 있으므로, 정리는 지우기 전에 retainedFrom을 올린다.)
+    long retainedFrom = retention.retainedFrom();
+    if (afterId + 1 < retainedFrom)
+      throw new ExpiredException("changes after " + afterId + " are no longer retained, oldest retained id is " + retainedFrom);
+
+    long until = horizon;
+    List<Tuple> visible = rows.stream()
+      .filter(row -> row.get(itemChangeLog.id) < until)
+      .toList();
+    boolean hasMore = visible.size() > size;
+    visible = visible.subList(0, Math.min(size, visible.size()));
+
+    // 같은 Item이 여러번 바뀌었다면 마지막 변경만 (값은 어차피 현재 값이다.)
+    Map<Long, ItemChange> latest = new LinkedHashMap<>();
+    long lastId = afterId;
+    for (Tuple row : visible) {
+      lastId = row.get(itemChangeLog.id);
+      Long itemId = row.get(itemChangeLog.itemId);
+      ItemChangeLog.Type type = row.get(itemChangeLog.changeType);
+      // 그 뒤에 삭제되었다면 삭제 기록이 뒤에 있다.
+      if (type == ItemChangeLog.Type.UPSERT && row.get(item.id) == null) continue;
+      latest.remove(itemId);
+      latest.put(itemId, type == ItemChangeLog.Type.DELETE
+        ? new ItemChange(ItemChange.Type.DELETE, itemId, row.get(itemChangeLog.changedAt), null)
+        : new ItemChange(
+          ItemChange.Type.UPSERT,
+          itemId,
+          row.get(itemChangeLog.changedAt),
+          new ItemDto(row.get(item.name), row.get(item.price), row.get(item.stock))
+        ));
+    }
+
+    List<ItemChange> page = new ArrayList<>(latest.values());
+    log.info("{} changes after {}, hasMore: {}, horizon: {}", page.size(), afterId, hasMore, until);
+    return new ItemChangePage(page, new ItemChangeCursor(lastId).encode(), hasMore);
+  }
+
+  // 이어서 받을 수 없는 커서 (처음부터 다시 동기화해야 한다.)
+  public static class ExpiredException extends RuntimeException {
+    public ExpiredException(String message) {
+      super(message);
+    }
+  }
+}
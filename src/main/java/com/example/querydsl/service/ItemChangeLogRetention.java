@@ -0,0 +1,64 @@
+package com.example.querydsl.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// 변경 기록(ItemChangeLog)의 보관
+// : 변경 기록은 변경마다 한 행씩 늘어나므로, 주기적으로 오래된 기록을 지운다.
+// - 보관 기간(item.changes.retention)보다 오래된 기록
+// - 최근 item.changes.max-rows개보다 앞의 기록 (id 기준)
+// : 지운 범위 안의 커서로는 이어서 받을 수 없다. (그 사이의 변경을 놓치므로 처음부터 다시 동기화해야 한다.)
+// 피드는 retainedFrom()보다 앞에서 시작하는 요청을 거절한다. (410 Gone)
+// : 시작할 때도 한번 실행해서 retainedFrom을 다시 정한다. (설정이 같다면 이전에 지운 범위를 포함한다.)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemChangeLogRetention {
+  // 한번의 DELETE가 지우는 id 범위 (쓰기 잠금을 오래 잡지 않도록 나눠서 지운다.)
+  private static final long DELETE_CHUNK = 10_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  @Value("${item.changes.retention:7d}")
+  private Duration retention;
+  @Value("${item.changes.max-rows:1000000}")
+  private long maxRows;
+  // 이보다 작은 id의 기록은 지워졌다. (또는 지우는 중이다.)
+  private volatile long retainedFrom;
+
+  @Scheduled(fixedDelayString = "${item.changes.purge-interval-ms:600000}")
+  public void purge() {
+    Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM item_change_log", Long.class);
+    if (maxId == null) return;
+    // changed_at 색인을 사용한다. (since로 시작할 때와 같은 조회)
+    Long expired = jdbcTemplate.queryForObject(
+      "SELECT MAX(id) FROM item_change_log WHERE changed_at < ?",
+      Long.class, Timestamp.valueOf(LocalDateTime.now().minus(retention))
+    );
+    long from = Math.max(expired == null ? 0 : expired + 1, maxId - maxRows + 1);
+    if (from <= retainedFrom) return;
+    // 지우기 전에 먼저 올린다. 지우는 도중에 읽은 피드가 일부만 받고 지나가지 않도록
+    retainedFrom = from;
+
+    Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM item_change_log", Long.class);
+    long deleted = 0;
+    for (long lo = minId == null ? from : minId; lo < from; lo += DELETE_CHUNK) {
+      deleted += jdbcTemplate.update(
+        "DELETE FROM item_change_log WHERE id >= ? AND id < ?",
+        lo, Math.min(lo + DELETE_CHUNK, from)
+      );
+    }
+    log.info("item change log purged: {} rows before id {}", deleted, from);
+  }
+
+  public long retainedFrom() {
+    return retainedFrom;
+  }
+}
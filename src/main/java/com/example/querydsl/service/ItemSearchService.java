@@ -0,0 +1,47 @@
+package com.example.querydsl.service;
+
+import com.example.querydsl.cache.ItemSearchCache;
+import com.example.querydsl.dto.ItemDto;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.dto.ItemShopDto;
+import com.example.querydsl.repo.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// 검색 결과 캐시를 거쳐서 ItemRepository의 DTO 검색을 호출한다.
+@Service
+@RequiredArgsConstructor
+public class ItemSearchService {
+  private final ItemRepository itemRepository;
+  private final ItemSearchCache searchCache;
+
+  public List<ItemDto> search(ItemSearchParams searchParams) {
+    return searchCache.get(
+      "list|" + searchParams.cacheKey(),
+      () -> itemRepository.searchDynamicDto(searchParams)
+    );
+  }
+
+  public Page<ItemDto> search(ItemSearchParams searchParams, Pageable pageable) {
+    return searchCache.get(
+      "page|" + searchParams.cacheKey() + "|" + pageKey(pageable),
+      () -> itemRepository.searchDynamicDto(searchParams, pageable)
+    );
+  }
+
+  public Page<ItemShopDto> searchWithShop(ItemSearchParams searchParams, Pageable pageable) {
+    return searchCache.get(
+      "shop|" + searchParams.cacheKey() + "|" + pageKey(pageable),
+      () -> itemRepository.searchWithShop(searchParams, pageable)
+    );
+  }
+
+  private String pageKey(Pageable pageable) {
+    if (pageable.isUnpaged()) return "unpaged";
+    return pageable.getPageNumber() + "|" + pageable.getPageSize() + "|" + pageable.getSort();
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.querydsl.service;
+
+import com.example.querydsl.dto.ItemDto;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.repo.ItemRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// 검색 결과를 NDJSON(한 줄에 JSON 하나)으로 바로 응답에 쓴다.
+// : List로 모으지 않으므로 결과가 아무리 많아도 메모리 사용량이 일정하다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemStreamService {
+  // 이 행 수마다 응답을 flush 해서 클라이언트가 먼저 받아볼 수 있게 한다.
+  private static final int FLUSH_INTERVAL = 1000;
+
+  private final ItemRepository itemRepository;
+  private final ObjectMapper objectMapper;
+
+  // Stream을 다 읽을 때까지 트랜잭션(과 DB 커서)이 열려 있어야 한다.
+  @Transactional(readOnly = true)
+  public long writeNdjson(ItemSearchParams searchParams, OutputStream out) throws IOException {
+    // 행마다 flush 하지 않도록 (FLUSH_INTERVAL 마다 직접 flush)
+    ObjectWriter writer = objectMapper.writerFor(ItemDto.class)
+      .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    long count = 0;
+    try (
+      Stream<ItemDto> rows = itemRepository.streamDynamicDto(searchParams);
+      JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+    ) {
+      // 응답 스트림은 Spring이 닫는다.
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      // 최상위 값 사이의 구분자를 줄바꿈으로
+      generator.setRootValueSeparator(new SerializedString("\n"));
+
+      Iterator<ItemDto> iterator = rows.iterator();
+      while (iterator.hasNext()) {
+        writer.writeValue(generator, iterator.next());
+        if (++count % FLUSH_INTERVAL == 0) generator.flush();
+      }
+      if (count > 0) generator.writeRaw('\n');
+    }
+    log.info("streamed {} items", count);
+    return count;
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.querydsl.service;
+
+import com.example.querydsl.dto.ItemDto;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.index.ItemNameIndex;
+import com.example.querydsl.repo.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// 자동 완성
+// : 메모리 색인(ItemNameIndex)에서 이름으로 후보 id를 찾고,
+// 가격 등 나머지 검색 조건은 DB에서 id IN (...)으로 확인한다. (id는 Primary Key라 빠르다.)
+@Service
+@RequiredArgsConstructor
+public class ItemSuggestService {
+  private final ItemNameIndex itemNameIndex;
+  private final ItemRepository itemRepository;
+  // DB로 넘기는 후보 id의 최대 갯수 (IN 절의 크기)
+  // : 후보가 이보다 많고 다른 조건이 많이 걸러낸다면 limit보다 적게 반환될 수 있다.
+  @Value("${item.suggest.max-candidates:1000}")
+  private int maxCandidates;
+
+  // contains: false면 앞부분 일치, true면 부분 일치
+  public List<ItemDto> suggest(String query, boolean contains, ItemSearchParams searchParams, int limit) {
+    // 다른 검색 조건이 없다면 limit개만 찾으면 된다.
+    int candidates = searchParams.hasFilter() ? maxCandidates : limit;
+    List<Long> ids = contains
+      ? itemNameIndex.contains(query, candidates)
+      : itemNameIndex.startsWith(query, candidates);
+    return itemRepository.searchDtoByIds(ids, searchParams, limit);
+  }
+}
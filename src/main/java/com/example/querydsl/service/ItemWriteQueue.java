@@ -0,0 +1,222 @@
+package com.example.querydsl.service;
+
+import com.example.querydsl.dto.ItemCreateDto;
+import com.example.querydsl.dto.ItemWriteResult;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.Shop;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Item 등록 / 수정 요청을 모아서 하나의 트랜잭션으로 커밋한다. (group commit)
+// : SQLite는 한번에 하나만 쓸 수 있고, 커밋마다 fsync를 한다.
+// 요청마다 트랜잭션을 만들면 처리량은 fsync 속도에서 멈추지만,
+// 여러 요청을 하나의 커밋으로 묶으면 동시 요청이 많을수록 한번의 fsync로 더 많이 처리한다.
+// - 요청 스레드: 큐에 넣고 CompletableFuture를 받는다. (커밋된 뒤에 완료된다.)
+// - 쓰기 스레드(1개): maxBatch개가 모이거나 maxWait이 지나면 한 트랜잭션으로 처리한다.
+// - 큐가 가득 차면 offerTimeout 동안 기다리다가 RejectedExecutionException (backpressure)
+@Slf4j
+@Service
+public class ItemWriteQueue implements SmartLifecycle {
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<WriteRequest> queue;
+  private final int maxBatch;
+  private final long maxWaitNanos;
+  private final long offerTimeoutMillis;
+
+  private volatile boolean running;
+  private Thread writer;
+
+  public ItemWriteQueue(
+    EntityManager entityManager,
+    PlatformTransactionManager transactionManager,
+    @Value("${item.write-queue.capacity:10000}")
+    int capacity,
+    @Value("${item.write-queue.max-batch:200}")
+    int maxBatch,
+    @Value("${item.write-queue.max-wait-ms:5}")
+    long maxWaitMillis,
+    @Value("${item.write-queue.offer-timeout-ms:1000}")
+    long offerTimeoutMillis
+  ) {
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.maxBatch = maxBatch;
+    this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    this.offerTimeoutMillis = offerTimeoutMillis;
+  }
+
+  public CompletableFuture<ItemWriteResult> insert(ItemCreateDto dto) {
+    return submit(new WriteRequest(null, dto));
+  }
+
+  // dto의 null이 아닌 값만 변경한다.
+  public CompletableFuture<ItemWriteResult> update(Long id, ItemCreateDto dto) {
+    return submit(new WriteRequest(id, dto));
+  }
+
+  private CompletableFuture<ItemWriteResult> submit(WriteRequest request) {
+    if (!running) throw new RejectedExecutionException("write queue is not running");
+    try {
+      if (!queue.offer(request, offerTimeoutMillis, TimeUnit.MILLISECONDS))
+        throw new RejectedExecutionException("write queue is full");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("interrupted while waiting for the write queue", e);
+    }
+    return request.future;
+  }
+
+  // ---------------------------------------
+  // 쓰기 스레드
+
+  private void drainLoop() {
+    List<WriteRequest> batch = new ArrayList<>(maxBatch);
+    // 멈춘 뒤에도 이미 받은 요청은 처리한다.
+    while (running || !queue.isEmpty()) {
+      try {
+        WriteRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) continue;
+        batch.add(first);
+        // 첫 요청부터 maxWait 동안 더 모은다.
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatch) {
+          long remaining = deadline - System.nanoTime();
+          WriteRequest next = remaining > 0
+            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+            : queue.poll();
+          if (next == null) break;
+          batch.add(next);
+        }
+      } catch (InterruptedException e) {
+        // 모은 요청과 큐에 남은 요청을 처리하고 끝낸다.
+        running = false;
+      }
+      if (!batch.isEmpty()) {
+        writeBatch(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void writeBatch(List<WriteRequest> batch) {
+    try {
+      List<Long> ids = transactionTemplate.execute(status -> apply(batch));
+      // 커밋이 끝난 뒤에 완료
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).future.complete(new ItemWriteResult(ids.get(i), batch.size()));
+      }
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        batch.get(0).future.completeExceptionally(e);
+        return;
+      }
+      // 하나 때문에 전부 실패하지 않도록, 하나씩 다시 처리한다.
+      log.warn("write batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+      for (WriteRequest request : batch) writeBatch(List.of(request));
+    }
+  }
+
+  private List<Long> apply(List<WriteRequest> batch) {
+    List<Long> ids = new ArrayList<>(batch.size());
+    for (WriteRequest request : batch) {
+      ItemCreateDto dto = request.dto;
+      Item item;
+      if (request.id == null) {
+        item = Item.builder()
+          .name(dto.getName())
+          .description(dto.getDescription())
+          .price(dto.getPrice())
+          .stock(dto.getStock())
+          .shop(shopReference(dto.getShopId()))
+          .build();
+        entityManager.persist(item);
+      } else {
+        item = entityManager.find(Item.class, request.id);
+        if (item == null) throw new NoSuchElementException("item not found: " + request.id);
+        if (dto.getName() != null) item.setName(dto.getName());
+        if (dto.getDescription() != null) item.setDescription(dto.getDescription());
+        if (dto.getPrice() != null) item.setPrice(dto.getPrice());
+        if (dto.getStock() != null) item.setStock(dto.getStock());
+        if (dto.getShopId() != null) item.setShop(shopReference(dto.getShopId()));
+      }
+      ids.add(item.getId());
+    }
+    // 다음 배치에 영속성 컨텍스트가 남지 않도록
+    entityManager.flush();
+    entityManager.clear();
+    return ids;
+  }
+
+  private Shop shopReference(Long shopId) {
+    return shopId == null ? null : entityManager.getReference(Shop.class, shopId);
+  }
+
+  // ---------------------------------------
+  // SmartLifecycle
+
+  @Override
+  public void start() {
+    running = true;
+    writer = new Thread(this::drainLoop, "item-write-queue");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override
+  public void stop() {
+    // 트랜잭션 도중에 interrupt 하지 않는다. 쓰기 스레드는 큐를 비운 뒤 스스로 끝난다.
+    running = false;
+    try {
+      writer.join(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // 처리하지 못한 요청
+    WriteRequest request;
+    while ((request = queue.poll()) != null) {
+      request.future.completeExceptionally(new RejectedExecutionException("write queue stopped"));
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  // phase가 낮을수록 먼저 시작하고 나중에 멈춘다.
+  // : 웹 서버(WebServerStartStopLifecycle, SMART_LIFECYCLE_PHASE - 1024)보다 먼저 시작해서 요청을 받기 전에 준비되고,
+  // graceful shutdown으로 진행 중인 요청이 끝나고 웹 서버가 멈춘 뒤에 큐를 비우고 멈춘다.
+  @Override
+  public int getPhase() {
+    return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+  }
+
+  private static class WriteRequest {
+    // null이면 등록
+    private final Long id;
+    private final ItemCreateDto dto;
+    private final CompletableFuture<ItemWriteResult> future = new CompletableFuture<>();
+
+    private WriteRequest(Long id, ItemCreateDto dto) {
+      this.id = id;
+      this.dto = dto;
+    }
+  }
+}
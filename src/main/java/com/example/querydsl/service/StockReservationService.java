@@ -0,0 +1,45 @@
+package com.example.querydsl.service;
+
+import com.example.querydsl.dto.ReservationResult;
+import com.example.querydsl.dto.StockReservation;
+import com.example.querydsl.repo.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// 여러 Item의 재고를 하나의 트랜잭션에서 예약한다.
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+  private final ItemRepository itemRepository;
+
+  // allOrNothing: 하나라도 실패하면 전체를 취소(rollback)한다.
+  @Transactional
+  public ReservationResult reserveAll(List<StockReservation> reservations, boolean allOrNothing) {
+    // 여러 요청이 같은 Item들을 서로 다른 순서로 잠그면 교착 상태(deadlock)가 생길 수 있으므로
+    // 항상 id 순서로 차감한다.
+    List<StockReservation> sorted = new ArrayList<>(reservations);
+    sorted.sort(Comparator.comparing(StockReservation::getItemId));
+
+    List<ReservationResult.Line> results = new ArrayList<>(sorted.size());
+    boolean allReserved = true;
+    for (StockReservation reservation : sorted) {
+      boolean reserved = itemRepository.reserveStock(reservation.getItemId(), reservation.getQuantity());
+      results.add(new ReservationResult.Line(reservation.getItemId(), reservation.getQuantity(), reserved));
+      allReserved &= reserved;
+      // 이미 실패했다면 나머지는 차감해봐야 취소된다.
+      if (allOrNothing && !reserved) break;
+    }
+
+    if (allOrNothing && !allReserved) {
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+      return new ReservationResult(false, results);
+    }
+    return new ReservationResult(true, results);
+  }
+}
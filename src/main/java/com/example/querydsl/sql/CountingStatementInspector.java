@@ -0,0 +1,13 @@
+package com.example.querydsl.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate가 실행하는 모든 SQL을 StatementCounter에 기록한다. (SQL은 바꾸지 않는다.)
+// (StatementBudgetConfig에서 hibernate.session_factory.statement_inspector로 등록)
+public class CountingStatementInspector implements StatementInspector {
+  @Override
+  public String inspect(String sql) {
+    StatementCounter.record(sql);
+    return sql;
+  }
+}
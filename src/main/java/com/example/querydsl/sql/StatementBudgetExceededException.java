@@ -0,0 +1,12 @@
+package com.example.querydsl.sql;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 한 요청에서 실행할 수 있는 SQL 문장 수(item.sql.budget.max-statements)를 넘었다. (reject 모드)
+@ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR, reason = "SQL statement budget exceeded")
+public class StatementBudgetExceededException extends RuntimeException {
+  public StatementBudgetExceededException(int limit, String sql) {
+    super("more than " + limit + " SQL statements in one request, rejected: " + sql);
+  }
+}
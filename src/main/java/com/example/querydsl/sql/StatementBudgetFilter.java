@@ -0,0 +1,57 @@
+package com.example.querydsl.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+// 요청마다 실행된 SQL 문장 수를 세고, 예산(max-statements)을 넘으면
+// - LOG: 경고 로그를 남긴다.
+// - REJECT: 예산을 넘는 SQL을 실행하기 전에 StatementBudgetExceededException으로 요청을 실패시킨다.
+// 같은 SQL이 n-plus-one-threshold번 이상 실행되었다면 N+1로 의심하고 로그를 남긴다.
+// (Lazy 연관관계를 반복문에서 하나씩 초기화하면 같은 SELECT가 바인딩 값만 바뀌어 반복된다.)
+@Slf4j
+@Component
+public class StatementBudgetFilter extends OncePerRequestFilter {
+  public enum Mode { LOG, REJECT }
+
+  @Value("${item.sql.budget.max-statements:20}")
+  private int maxStatements;
+  @Value("${item.sql.budget.mode:LOG}")
+  private Mode mode;
+  @Value("${item.sql.budget.n-plus-one-threshold:5}")
+  private int nPlusOneThreshold;
+
+  @Override
+  protected void doFilterInternal(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    FilterChain filterChain
+  ) throws ServletException, IOException {
+    StatementCounter.Scope scope = StatementCounter.begin();
+    if (mode == Mode.REJECT) scope.setLimit(maxStatements);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      StatementCounter.end();
+      report(request, scope);
+    }
+  }
+
+  private void report(HttpServletRequest request, StatementCounter.Scope scope) {
+    String uri = request.getMethod() + " " + request.getRequestURI();
+    if (scope.total() > maxStatements) {
+      log.warn("{}: {} SQL statements (budget {})", uri, scope.total(), maxStatements);
+    }
+    Map<String, Integer> repeated = scope.repeated(nPlusOneThreshold);
+    repeated.forEach((sql, count) ->
+      log.warn("{}: probable N+1, same statement executed {} times: {}", uri, count, sql));
+  }
+}
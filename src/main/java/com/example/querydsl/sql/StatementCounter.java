@@ -0,0 +1,95 @@
+package com.example.querydsl.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 현재 스레드(요청, 테스트)에서 실행된 SQL 문장을 센다.
+// : Hibernate가 SQL을 실행할 때마다 CountingStatementInspector가 record()를 호출한다.
+// : begin() ~ end() 사이에서만 센다. (Scope가 없으면 아무것도 하지 않는다.)
+// : 같은 SQL 문자열(바인딩 값은 ?)이 여러번 실행되었다면 N+1일 가능성이 높다.
+public final class StatementCounter {
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private StatementCounter() {}
+
+  public static Scope begin() {
+    Scope scope = new Scope();
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  public static void end() {
+    CURRENT.remove();
+  }
+
+  // 없으면 null
+  public static Scope current() {
+    return CURRENT.get();
+  }
+
+  static void record(String sql) {
+    Scope scope = CURRENT.get();
+    if (scope != null) scope.record(sql);
+  }
+
+  // 다른 스레드에서 실행되는 작업(searchCountExecutor의 Count 쿼리 등)도
+  // 작업을 넘긴 요청의 Scope에서 세도록 한다. (TaskDecorator)
+  public static Runnable propagate(Runnable task) {
+    Scope scope = CURRENT.get();
+    if (scope == null) return task;
+    return () -> {
+      Scope previous = CURRENT.get();
+      CURRENT.set(scope);
+      try {
+        task.run();
+      } finally {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+      }
+    };
+  }
+
+  // 여러 스레드에서 함께 사용될 수 있다.
+  public static class Scope {
+    private final AtomicInteger total = new AtomicInteger();
+    private final Map<String, AtomicInteger> bySql = new ConcurrentHashMap<>();
+    // 이 수를 넘으면 SQL을 실행하기 전에 실패시킨다. (0 이하면 제한 없음)
+    private volatile int limit;
+
+    private void record(String sql) {
+      int count = total.incrementAndGet();
+      bySql.computeIfAbsent(sql, key -> new AtomicInteger()).incrementAndGet();
+      if (limit > 0 && count > limit) throw new StatementBudgetExceededException(limit, sql);
+    }
+
+    public int total() {
+      return total.get();
+    }
+
+    public void setLimit(int limit) {
+      this.limit = limit;
+    }
+
+    // threshold번 이상 실행된 SQL -> 실행 횟수
+    public Map<String, Integer> repeated(int threshold) {
+      Map<String, Integer> repeated = new LinkedHashMap<>();
+      bySql.forEach((sql, count) -> {
+        if (count.get() >= threshold) repeated.put(sql, count.get());
+      });
+      return repeated;
+    }
+
+    // 실행된 SQL (중복 제외, 순서 없음)
+    public Set<String> statements() {
+      return Set.copyOf(bySql.keySet());
+    }
+
+    public void reset() {
+      total.set(0);
+      bySql.clear();
+    }
+  }
+}
@@ -0,0 +1,350 @@
+package com.example.querydsl.stats;
+
+import com.example.querydsl.dto.ShopStatsDto;
+import com.example.querydsl.event.ItemChangedEvent;
+import com.example.querydsl.repo.ItemChangeLogWriter;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static com.example.querydsl.entity.QItem.item;
+import static com.example.querydsl.entity.QItemChangeLog.itemChangeLog;
+
+// Shop 별 Item 통계 (갯수, 최저/최고/평균 가격, 재고 합)를 메모리에 유지한다.
+// : 매번 item 테이블 전체를 group by 하지 않고, Item이 변경될 때마다 그 Item의 몫만 갱신한다.
+// 따라서 조회는 Shop 수에만 비례한다.
+// : 최저/최고 가격은 삭제를 처리하기 위해 가격별 갯수(TreeMap)를 유지한다.
+// : 변경은 전용 스레드(1개)에서 반영한다. 커밋한 스레드(요청 스레드, ItemWriteQueue의 쓰기 스레드)는
+// 이벤트를 큐에 넣기만 하고, 같은 Item의 변경이 여러번 쌓이면 가장 최근 것만 반영한다.
+// - 추가/수정(SAVED): 이벤트에 담긴 값을 그대로 반영한다. (다시 조회하지 않는다.)
+// - 재고 예약(STOCK_CHANGED): 변경 후의 재고를 모르므로 다시 읽는다. (쌓인 id를 한번에)
+// - 가격/재고 벌크 변경(BULK_UPDATED): 변경 기록에서 바뀐 Item만 찾아서 다시 읽는다.
+// - 대량 등록/벌크 삭제: 전체를 다시 계산(rebuild)한다.
+// : 이벤트가 도착하는 순서는 커밋 순서와 다를 수 있으므로, Item마다 반영한 변경의 version
+// (ItemChangeLog의 id)을 기억해두고 그보다 오래된 변경은 버린다.
+@Slf4j
+@Component
+public class ShopStatsAggregator {
+  // 다시 읽을 id를 나눠서 조회하는 크기 (IN 절의 바인딩 변수 수 제한)
+  private static final int CHUNK_SIZE = 500;
+
+  private final JPAQueryFactory queryFactory;
+  private final ItemChangeLogWriter changeLogWriter;
+  private final TransactionTemplate readOnly;
+  // 변경을 반영하는 스레드
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "shop-stats");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // 아직 반영하지 않은 변경 (queued로 잠근다.)
+  // itemId -> version이 가장 큰 이벤트
+  private final Map<Long, ItemChangedEvent> queued = new HashMap<>();
+  // BULK_UPDATED: 가장 작은 floor (없으면 Long.MAX_VALUE)
+  private long queuedBulkFloor = Long.MAX_VALUE;
+  private boolean queuedRebuild;
+  private boolean draining;
+
+  // 아래는 반영하는 스레드만 바꾸고, snapshot()과는 this로 잠근다.
+  // itemId -> 현재 통계에 반영된 그 Item의 값
+  private Map<Long, Contribution> contributions = new HashMap<>();
+  // shopId -> 집계
+  private Map<Long, ShopAggregate> aggregates = new HashMap<>();
+  // 삭제된 Item -> 삭제의 version (늦게 도착한 이전 변경이 되살리지 않도록, 다음 rebuild까지)
+  private final Map<Long, Long> deleted = new HashMap<>();
+  // version이 이보다 작은 변경은 마지막 rebuild가 이미 읽었다.
+  private long rebuiltBelow;
+
+  public ShopStatsAggregator(
+    JPAQueryFactory queryFactory,
+    ItemChangeLogWriter changeLogWriter,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.queryFactory = queryFactory;
+    this.changeLogWriter = changeLogWriter;
+    this.readOnly = new TransactionTemplate(transactionManager);
+    // 커밋이 끝난 뒤(이벤트 처리 중)에도 새 트랜잭션에서 조회할 수 있도록
+    this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readOnly.setReadOnly(true);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onReady() {
+    rebuild();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  // 전체 다시 계산 O(items): 반영하는 스레드에서 실행하고, 끝날 때까지 기다린다.
+  public void rebuild() {
+    synchronized (queued) {
+      queuedRebuild = true;
+      scheduleDrain();
+    }
+    flush();
+  }
+
+  // 지금까지 받은 변경이 모두 반영될 때까지 기다린다.
+  public void flush() {
+    try {
+      executor.submit(() -> {}).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  // 커밋된 변경만 반영한다. (롤백된 변경은 이벤트가 처리되지 않는다.)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onItemChanged(ItemChangedEvent event) {
+    synchronized (queued) {
+      switch (event.getType()) {
+        case BULK_INSERTED, BULK_DELETED -> queuedRebuild = true;
+        case BULK_UPDATED -> queuedBulkFloor = Math.min(queuedBulkFloor, event.getVersion());
+        default -> queued.merge(event.getItemId(), event,
+          (previous, next) -> next.getVersion() > previous.getVersion() ? next : previous);
+      }
+      scheduleDrain();
+    }
+  }
+
+  // queued를 잠근 상태에서
+  private void scheduleDrain() {
+    if (draining) return;
+    draining = true;
+    executor.execute(this::drain);
+  }
+
+  // 반영하는 스레드: 쌓인 변경이 없을 때까지
+  private void drain() {
+    while (true) {
+      Map<Long, ItemChangedEvent> events;
+      long bulkFloor;
+      boolean rebuild;
+      synchronized (queued) {
+        if (queued.isEmpty() && queuedBulkFloor == Long.MAX_VALUE && !queuedRebuild) {
+          draining = false;
+          return;
+        }
+        events = new HashMap<>(queued);
+        bulkFloor = queuedBulkFloor;
+        rebuild = queuedRebuild;
+        queued.clear();
+        queuedBulkFloor = Long.MAX_VALUE;
+        queuedRebuild = false;
+      }
+      try {
+        // rebuild는 그 전에 커밋된 벌크 변경도 모두 읽는다.
+        if (rebuild) doRebuild();
+        else if (bulkFloor != Long.MAX_VALUE) reload(changedSince(bulkFloor));
+        apply(events.values());
+      } catch (RuntimeException e) {
+        log.error("failed to apply item changes to shop stats", e);
+      }
+    }
+  }
+
+  private void doRebuild() {
+    Map<Long, Contribution> newContributions = new HashMap<>();
+    Map<Long, ShopAggregate> newAggregates = new HashMap<>();
+    // 변경 피드처럼, 읽는 동안 커밋되지 않은 기록의 id를 빼고 읽은 범위를 정한다. (ItemChangeLogWriter)
+    ItemChangeLogWriter.Reader reader = changeLogWriter.openReader();
+    Long maxVersion;
+    long horizon;
+    try {
+      maxVersion = readOnly.execute(status -> {
+        // 기록을 먼저 읽는다. 이 id까지의 변경은 아래에서 읽는 값에 포함된다.
+        Long max = queryFactory
+          .select(itemChangeLog.id.max())
+          .from(itemChangeLog)
+          .fetchOne();
+        try (Stream<Tuple> rows = queryFactory
+          .select(item.id, item.shop.id, item.price, item.stock)
+          .from(item)
+          .stream()) {
+          rows.forEach(row -> {
+            Contribution contribution = toContribution(row);
+            newContributions.put(row.get(item.id), contribution);
+            add(newAggregates, contribution);
+          });
+        }
+        return max;
+      });
+    } finally {
+      horizon = changeLogWriter.closeReader(reader);
+    }
+
+    synchronized (this) {
+      contributions = newContributions;
+      aggregates = newAggregates;
+      deleted.clear();
+      rebuiltBelow = Math.min(horizon, (maxVersion == null ? 0 : maxVersion) + 1);
+    }
+    log.info("shop stats rebuilt: {} items, {} shops", newContributions.size(), newAggregates.size());
+  }
+
+  private void apply(Collection<ItemChangedEvent> events) {
+    // 재고 예약: itemId -> version
+    Map<Long, Long> reloads = new HashMap<>();
+    for (ItemChangedEvent event : events) {
+      switch (event.getType()) {
+        case SAVED -> {
+          ItemChangedEvent.Values values = event.getValues();
+          Contribution current = new Contribution(event.getVersion(), values.shopId(), values.price(), values.stock());
+          put(event.getItemId(), event.getVersion(), current, false);
+        }
+        case DELETED -> put(event.getItemId(), event.getVersion(), null, false);
+        default -> reloads.put(event.getItemId(), event.getVersion());
+      }
+    }
+    if (!reloads.isEmpty()) reload(reloads);
+  }
+
+  // 변경 기록에서 floor 이후에 기록된 Item -> 마지막 기록의 id
+  private Map<Long, Long> changedSince(long floor) {
+    NumberExpression<Long> last = itemChangeLog.id.max();
+    Map<Long, Long> versions = new HashMap<>();
+    readOnly.executeWithoutResult(status -> queryFactory
+      .select(itemChangeLog.itemId, last)
+      .from(itemChangeLog)
+      .where(itemChangeLog.id.goe(floor))
+      .groupBy(itemChangeLog.itemId)
+      .fetch()
+      .forEach(row -> versions.put(row.get(itemChangeLog.itemId), row.get(last))));
+    return versions;
+  }
+
+  // Item들의 현재 값을 다시 읽어서 반영한다.
+  // versions: itemId -> 읽을 값에 이미 포함된 변경의 version (기록을 먼저 읽고 Item을 나중에 읽는다.)
+  private void reload(Map<Long, Long> versions) {
+    List<Long> ids = new ArrayList<>(versions.keySet());
+    Map<Long, Contribution> rows = new HashMap<>();
+    readOnly.executeWithoutResult(status -> {
+      for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+        queryFactory
+          .select(item.id, item.shop.id, item.price, item.stock)
+          .from(item)
+          .where(item.id.in(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))))
+          .fetch()
+          .forEach(row -> rows.put(row.get(item.id), toContribution(row)));
+      }
+    });
+    versions.forEach((itemId, version) -> put(itemId, version, rows.get(itemId), true));
+  }
+
+  // Item 하나의 이전 몫을 빼고 새 몫을 더한다. O(log n)
+  // current: null이면 삭제
+  // reloaded: 방금 DB에서 읽은 값이면 true. 가장 최신이므로 version과 상관없이 반영한다.
+  private synchronized void put(Long itemId, long version, Contribution current, boolean reloaded) {
+    Contribution previous = contributions.get(itemId);
+    long known = Math.max(
+      previous != null ? previous.version() : deleted.getOrDefault(itemId, Long.MIN_VALUE),
+      rebuiltBelow - 1
+    );
+    // 이미 반영한 변경이거나 더 오래된 변경
+    if (!reloaded && version <= known) return;
+
+    long applied = Math.max(version, known);
+    if (previous != null) remove(aggregates, previous);
+    if (current == null) {
+      contributions.remove(itemId);
+      deleted.put(itemId, applied);
+      return;
+    }
+    Contribution next = new Contribution(applied, current.shopId(), current.price(), current.stock());
+    contributions.put(itemId, next);
+    deleted.remove(itemId);
+    add(aggregates, next);
+  }
+
+  // O(shops)
+  public synchronized List<ShopStatsDto> snapshot(Map<Long, String> shopNames) {
+    List<ShopStatsDto> stats = new ArrayList<>(aggregates.size());
+    aggregates.forEach((shopId, aggregate) -> stats.add(aggregate.toDto(shopId, shopNames.get(shopId))));
+    stats.sort(Comparator.comparing(ShopStatsDto::getShopId));
+    return stats;
+  }
+
+  // DB에서 읽은 값 (version은 반영할 때 정한다.)
+  private Contribution toContribution(Tuple row) {
+    return new Contribution(Long.MIN_VALUE, row.get(item.shop.id), row.get(item.price), row.get(item.stock));
+  }
+
+  // Shop이 없는 Item은 통계에 포함하지 않는다.
+  private static void add(Map<Long, ShopAggregate> aggregates, Contribution contribution) {
+    if (contribution.shopId() == null) return;
+    aggregates.computeIfAbsent(contribution.shopId(), id -> new ShopAggregate()).add(contribution);
+  }
+
+  private static void remove(Map<Long, ShopAggregate> aggregates, Contribution contribution) {
+    if (contribution.shopId() == null) return;
+    ShopAggregate aggregate = aggregates.get(contribution.shopId());
+    if (aggregate == null) return;
+    aggregate.remove(contribution);
+    if (aggregate.itemCount == 0) aggregates.remove(contribution.shopId());
+  }
+
+  // version: 이 값에 포함된 마지막 변경의 ItemChangeLog id
+  private record Contribution(long version, Long shopId, Integer price, Integer stock) {}
+
+  private static class ShopAggregate {
+    private long itemCount;
+    private long totalStock;
+    private long priceSum;
+    private long pricedCount;
+    // 가격 -> 그 가격의 Item 수
+    private final TreeMap<Integer, Integer> prices = new TreeMap<>();
+
+    void add(Contribution contribution) {
+      itemCount++;
+      if (contribution.stock() != null) totalStock += contribution.stock();
+      if (contribution.price() != null) {
+        priceSum += contribution.price();
+        pricedCount++;
+        prices.merge(contribution.price(), 1, Integer::sum);
+      }
+    }
+
+    void remove(Contribution contribution) {
+      itemCount--;
+      if (contribution.stock() != null) totalStock -= contribution.stock();
+      if (contribution.price() != null) {
+        priceSum -= contribution.price();
+        pricedCount--;
+        prices.computeIfPresent(contribution.price(), (price, count) -> count == 1 ? null : count - 1);
+      }
+    }
+
+    ShopStatsDto toDto(Long shopId, String shopName) {
+      return new ShopStatsDto(
+        shopId,
+        shopName,
+        itemCount,
+        prices.isEmpty() ? null : prices.firstKey(),
+        prices.isEmpty() ? null : prices.lastKey(),
+        pricedCount == 0 ? null : (double) priceSum / pricedCount,
+        totalStock
+      );
+    }
+  }
+}
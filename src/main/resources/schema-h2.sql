@@ -0,0 +1,8 @@
+-- Item 전문 검색 (테스트용, H2 내장 전문 검색)
+-- : FT_CREATE_INDEX가 item 테이블에 트리거를 만들어 색인을 유지한다.
+-- : 단어 단위로만 검색된다. (SQLite FTS5와 달리 앞부분 일치 검색은 되지 않는다.)
+CREATE ALIAS IF NOT EXISTS FT_INIT FOR 'org.h2.fulltext.FullText.init';
+CALL FT_INIT();
+-- 같은 메모리 DB를 다시 사용하는 경우 (ddl-auto로 item 테이블을 다시 만든 경우)
+CALL FT_DROP_INDEX('PUBLIC', 'ITEM');
+CALL FT_CREATE_INDEX('PUBLIC', 'ITEM', 'NAME,DESCRIPTION');
@@ -0,0 +1,29 @@
+-- Item 전문 검색 (FTS5)
+-- : spring.sql.init.separator=;; (트리거 본문의 ; 때문에)
+-- : external content 테이블 -> 내용은 item 테이블에만 저장하고, item_fts에는 색인만 저장한다.
+-- : prefix 색인 -> "검색어"* (앞부분 일치) 검색을 빠르게
+CREATE VIRTUAL TABLE IF NOT EXISTS item_fts USING fts5(
+  name,
+  description,
+  content = 'item',
+  content_rowid = 'id',
+  tokenize = 'unicode61',
+  prefix = '2 3'
+);;
+
+-- item 테이블이 바뀌면 item_fts도 같은 트랜잭션에서 바꾼다.
+CREATE TRIGGER IF NOT EXISTS item_fts_ai AFTER INSERT ON item BEGIN
+  INSERT INTO item_fts (rowid, name, description) VALUES (new.id, new.name, new.description);
+END;;
+
+CREATE TRIGGER IF NOT EXISTS item_fts_ad AFTER DELETE ON item BEGIN
+  INSERT INTO item_fts (item_fts, rowid, name, description) VALUES ('delete', old.id, old.name, old.description);
+END;;
+
+CREATE TRIGGER IF NOT EXISTS item_fts_au AFTER UPDATE OF name, description ON item BEGIN
+  INSERT INTO item_fts (item_fts, rowid, name, description) VALUES ('delete', old.id, old.name, old.description);
+  INSERT INTO item_fts (rowid, name, description) VALUES (new.id, new.name, new.description);
+END;;
+
+-- item 테이블을 다시 만들었거나(ddl-auto), 이미 데이터가 있는 경우 색인을 다시 만든다.
+INSERT INTO item_fts (item_fts) VALUES ('rebuild');;
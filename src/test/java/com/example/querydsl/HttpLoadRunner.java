@@ -0,0 +1,85 @@
+package com.example.querydsl;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+// 부하 테스트용 HTTP 클라이언트
+// : clients개의 스레드가 각자 requests번 요청하고, 처리량과 지연시간 분포를 계산한다.
+public class HttpLoadRunner {
+  private final HttpClient client = HttpClient.newBuilder()
+    .connectTimeout(Duration.ofSeconds(5))
+    .build();
+
+  // requestFactory: 요청 번호 -> 요청
+  public Result run(int clients, int requests, IntFunction<HttpRequest> requestFactory) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(clients);
+    List<Long> latencies = Collections.synchronizedList(new ArrayList<>(clients * requests));
+    AtomicInteger errors = new AtomicInteger();
+    AtomicInteger sequence = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int c = 0; c < clients; c++) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int r = 0; r < requests; r++) {
+          HttpRequest request = requestFactory.apply(sequence.getAndIncrement());
+          long begin = System.nanoTime();
+          try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) errors.incrementAndGet();
+          } catch (Exception e) {
+            errors.incrementAndGet();
+          }
+          latencies.add(System.nanoTime() - begin);
+        }
+        return null;
+      }));
+    }
+
+    long begin = System.nanoTime();
+    start.countDown();
+    for (Future<?> future : futures) future.get(5, TimeUnit.MINUTES);
+    long elapsed = System.nanoTime() - begin;
+    executor.shutdown();
+
+    List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+    return new Result(
+      sorted.size(),
+      errors.get(),
+      sorted.size() / (elapsed / 1_000_000_000.0),
+      percentile(sorted, 0.50),
+      percentile(sorted, 0.99)
+    );
+  }
+
+  public static HttpRequest get(String url) {
+    return HttpRequest.newBuilder(URI.create(url)).GET().build();
+  }
+
+  private static double percentile(List<Long> sorted, double p) {
+    if (sorted.isEmpty()) return 0;
+    int index = (int) Math.ceil(p * sorted.size()) - 1;
+    return sorted.get(Math.max(0, index)) / 1_000_000.0;
+  }
+
+  public record Result(int requests, int errors, double throughput, double p50Millis, double p99Millis) {
+    @Override
+    public String toString() {
+      return String.format(
+        "requests: %d, errors: %d, throughput: %.1f req/s, p50: %.2f ms, p99: %.2f ms",
+        requests, errors, throughput, p50Millis, p99Millis
+      );
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemDto;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 검색 결과를 Accept 헤더에 따라 JSON / CBOR / Smile로 받는다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:binary-format")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ItemBinaryFormatTests {
+  private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+  private final TypeReference<List<ItemDto>> listType = new TypeReference<>() {};
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @BeforeEach
+  public void beforeEach() {
+    itemRepository.saveAll(List.of(
+      Item.builder().name("itemA").price(1000).stock(1).build(),
+      Item.builder().name("itemB").price(2000).stock(2).build()
+    ));
+  }
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAllInBatch();
+  }
+
+  @Test
+  public void cbor() throws Exception {
+    byte[] body = search(MediaType.APPLICATION_CBOR);
+    List<ItemDto> items = new ObjectMapper(new CBORFactory()).readValue(body, listType);
+    assertEquals(List.of("itemA", "itemB"), items.stream().map(ItemDto::getName).sorted().toList());
+    // JSON보다 작다.
+    assertTrue(body.length < search(MediaType.APPLICATION_JSON).length);
+  }
+
+  @Test
+  public void smile() throws Exception {
+    byte[] body = search(SMILE);
+    List<ItemDto> items = new ObjectMapper(new SmileFactory()).readValue(body, listType);
+    assertEquals(List.of(1000, 2000), items.stream().map(ItemDto::getCost).sorted().toList());
+  }
+
+  // 같은 버전이라도 형식이 다르면 ETag가 다르다.
+  @Test
+  public void etagVariesByAccept() throws Exception {
+    String json = mockMvc.perform(get("/search").accept(MediaType.APPLICATION_JSON))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    String cbor = mockMvc.perform(get("/search").accept(MediaType.APPLICATION_CBOR))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotEquals(json, cbor);
+
+    // JSON의 ETag로 CBOR를 요청하면 304가 아니다.
+    mockMvc.perform(get("/search").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, json))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+  }
+
+  private byte[] search(MediaType mediaType) throws Exception {
+    return mockMvc.perform(get("/search").accept(mediaType))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(mediaType))
+      .andReturn().getResponse().getContentAsByteArray();
+  }
+}
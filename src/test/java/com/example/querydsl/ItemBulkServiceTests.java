@@ -0,0 +1,123 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cache.ItemCountCache;
+import com.example.querydsl.cache.ItemWriteVersion;
+import com.example.querydsl.dto.BulkResult;
+import com.example.querydsl.dto.CountedPage;
+import com.example.querydsl.dto.ItemCreateDto;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.Shop;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.repo.ShopRepository;
+import com.example.querydsl.service.ItemBulkService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 캐시 무효화는 커밋 후에 일어나므로 @Transactional을 붙이지 않고, 별도의 DB를 사용한다.
+@SpringBootTest(properties = {
+  "spring.datasource.url=jdbc:h2:mem:bulk-ingest",
+  "item.bulk.batch-size=2",
+  "item.bulk.max-items=5"
+})
+@ActiveProfiles("test")
+public class ItemBulkServiceTests {
+  @Autowired
+  private ItemBulkService bulkService;
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ShopRepository shopRepository;
+  @Autowired
+  private ItemCountCache countCache;
+  @Autowired
+  private ItemWriteVersion writeVersion;
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAllInBatch();
+    shopRepository.deleteAllInBatch();
+  }
+
+  // batch 크기(2)보다 많은 행, shop_id / null 값, createdAt / updatedAt
+  @Test
+  public void ingest() {
+    Shop shopA = shopRepository.save(Shop.builder().name("shopA").build());
+    LocalDateTime before = LocalDateTime.now().withNano(0);
+
+    BulkResult result = bulkService.ingest(List.of(
+      new ItemCreateDto("itemA", "first", 1000, 10, shopA.getId()),
+      new ItemCreateDto("itemB", null, 2000, null, null),
+      new ItemCreateDto("itemC", "third", 3000, 30, shopA.getId())
+    ));
+
+    assertEquals(3, result.getRows());
+    List<Item> items = new ArrayList<>(itemRepository.findAll());
+    items.sort(Comparator.comparing(Item::getName));
+    assertEquals(List.of("itemA", "itemB", "itemC"), items.stream().map(Item::getName).toList());
+
+    Item itemA = items.get(0);
+    assertEquals("first", itemA.getDescription());
+    assertEquals(1000, itemA.getPrice());
+    assertEquals(10, itemA.getStock());
+    // Lazy 프록시여도 id는 초기화 없이 꺼낼 수 있다.
+    assertEquals(shopA.getId(), itemA.getShop().getId());
+
+    Item itemB = items.get(1);
+    assertNull(itemB.getDescription());
+    assertNull(itemB.getStock());
+    assertNull(itemB.getShop());
+
+    for (Item item : items) {
+      assertFalse(item.getCreatedAt().isBefore(before));
+      assertEquals(item.getCreatedAt(), item.getUpdatedAt());
+    }
+  }
+
+  // 커밋 후 캐시가 비워진다.
+  @Test
+  public void invalidatesCaches() {
+    CountedPage.Total total = new CountedPage.Total(0, true);
+    countCache.get("bulk", () -> total);
+    long version = writeVersion.version();
+
+    bulkService.ingest(List.of(new ItemCreateDto("itemA", null, 1000, 1, null)));
+
+    assertNull(countCache.getIfPresent("bulk"));
+    assertTrue(writeVersion.version() > version);
+  }
+
+  // 빈 목록은 아무것도 하지 않는다. (이벤트도 없다.)
+  @Test
+  public void emptyList() {
+    CountedPage.Total total = new CountedPage.Total(0, true);
+    countCache.get("empty", () -> total);
+    long version = writeVersion.version();
+
+    assertEquals(0, bulkService.ingest(List.of()).getRows());
+
+    assertSame(total, countCache.getIfPresent("empty"));
+    assertEquals(version, writeVersion.version());
+  }
+
+  @Test
+  public void invalidInput() {
+    List<ItemCreateDto> tooMany = new ArrayList<>();
+    for (int i = 0; i < 6; i++) tooMany.add(new ItemCreateDto("item" + i, null, 1000, 1, null));
+    assertThrows(IllegalArgumentException.class, () -> bulkService.ingest(tooMany));
+
+    List<ItemCreateDto> withNull = new ArrayList<>();
+    withNull.add(null);
+    assertThrows(IllegalArgumentException.class, () -> bulkService.ingest(withNull));
+    assertEquals(0, itemRepository.count());
+  }
+}
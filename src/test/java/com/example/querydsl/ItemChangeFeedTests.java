@@ -0,0 +1,213 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemChange;
+import com.example.querydsl.dto.ItemChangeCursor;
+import com.example.querydsl.dto.ItemChangePage;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.service.ItemChangeFeedService;
+import com.example.querydsl.service.ItemChangeLogRetention;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:change-feed")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ItemChangeFeedTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemChangeFeedService changeFeedService;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  @Autowired
+  private ItemChangeLogRetention retention;
+  @Autowired
+  private MockMvc mockMvc;
+
+  private LocalDateTime since;
+  private Item itemA;
+  private Item itemB;
+  private Item itemC;
+
+  @BeforeEach
+  public void beforeEach() {
+    since = LocalDateTime.now();
+    itemA = itemRepository.save(Item.builder().name("itemA").price(5000).stock(20).build());
+    itemB = itemRepository.save(Item.builder().name("itemB").price(6000).stock(30).build());
+    itemC = itemRepository.saveAndFlush(Item.builder().name("itemC").price(8000).stock(40).build());
+  }
+
+  // since 이후에 추가된 Item, 변경 순서
+  @Test
+  public void changesSince() {
+    ItemChangePage page = changeFeedService.changes(since, 10);
+
+    assertFalse(page.isHasMore());
+    assertEquals(
+      List.of("itemA", "itemB", "itemC"),
+      page.getChanges().stream().map(change -> change.getItem().getName()).toList()
+    );
+    assertTrue(page.getChanges().stream().allMatch(change -> change.getType() == ItemChange.Type.UPSERT));
+
+    // 그 뒤로는 변경이 없다.
+    assertTrue(changeFeedService.changes(LocalDateTime.now(), 10).getChanges().isEmpty());
+  }
+
+  // 커서로 이어서 받는다.
+  @Test
+  public void resumeWithCursor() {
+    ItemChangePage first = changeFeedService.changes(since, 2);
+    assertEquals(2, first.getChanges().size());
+    assertTrue(first.isHasMore());
+
+    ItemChangePage second = changeFeedService.changes(ItemChangeCursor.decode(first.getCursor()), 2);
+    assertEquals(1, second.getChanges().size());
+    assertEquals("itemC", second.getChanges().get(0).getItem().getName());
+    assertFalse(second.isHasMore());
+
+    // 마지막 페이지의 커서로 다시 요청하면 아무것도 없다.
+    ItemChangePage last = changeFeedService.changes(ItemChangeCursor.decode(second.getCursor()), 2);
+    assertTrue(last.getChanges().isEmpty());
+    assertEquals(second.getCursor(), last.getCursor());
+  }
+
+  // 수정과 삭제만 받는다.
+  @Test
+  public void updatesAndDeletes() {
+    String cursor = changeFeedService.changes(since, 10).getCursor();
+
+    itemB.setPrice(6500);
+    itemRepository.saveAndFlush(itemB);
+    itemRepository.delete(itemA);
+    itemRepository.flush();
+
+    ItemChangePage page = changeFeedService.changes(ItemChangeCursor.decode(cursor), 10);
+    assertEquals(
+      Set.of(
+        ItemChange.Type.UPSERT + ":" + itemB.getId(),
+        ItemChange.Type.DELETE + ":" + itemA.getId()
+      ),
+      page.getChanges().stream()
+        .map(change -> change.getType() + ":" + change.getItemId())
+        .collect(Collectors.toSet())
+    );
+  }
+
+  // 벌크 변경도 변경 기록을 남긴다.
+  @Test
+  public void bulkChanges() {
+    String cursor = changeFeedService.changes(since, 10).getCursor();
+
+    ItemSearchParams expensive = new ItemSearchParams();
+    expensive.setPriceFloor(8000);
+    assertEquals(1, itemRepository.updateStock(expensive, 0));
+    ItemSearchParams cheap = new ItemSearchParams();
+    cheap.setPriceCeil(6000);
+    assertEquals(2, itemRepository.deleteDynamic(cheap));
+
+    ItemChangePage page = changeFeedService.changes(ItemChangeCursor.decode(cursor), 10);
+    assertEquals(
+      Set.of(
+        ItemChange.Type.DELETE + ":" + itemA.getId(),
+        ItemChange.Type.DELETE + ":" + itemB.getId(),
+        ItemChange.Type.UPSERT + ":" + itemC.getId()
+      ),
+      page.getChanges().stream()
+        .map(change -> change.getType() + ":" + change.getItemId())
+        .collect(Collectors.toSet())
+    );
+  }
+
+  // 보관 범위(최근 max-rows개)를 넘어 지워진 기록 앞의 커서는 410 Gone
+  @Test
+  public void expiredCursor() throws Exception {
+    String old = changeFeedService.changes(since, 1).getCursor();
+    String latest = changeFeedService.changes(since, 10).getCursor();
+    ReflectionTestUtils.setField(retention, "maxRows", 1L);
+    try {
+      // itemC의 기록만 남는다.
+      retention.purge();
+      mockMvc.perform(get("/items/changes").param("cursor", old))
+        .andExpect(status().isGone());
+      // 남은 기록 뒤의 커서는 그대로 이어서 받는다.
+      assertTrue(changeFeedService.changes(ItemChangeCursor.decode(latest), 10).getChanges().isEmpty());
+    } finally {
+      ReflectionTestUtils.setField(retention, "maxRows", 1_000_000L);
+      ReflectionTestUtils.setField(retention, "retainedFrom", 0L);
+    }
+  }
+
+  // 먼저 변경하고 늦게 커밋한 트랜잭션의 변경을, 그 사이에 커밋된 변경 때문에 건너뛰지 않는다.
+  // : 두 트랜잭션이 각자 커밋해야 하므로 테스트 트랜잭션 없이 실행한다.
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void lateCommitIsNotSkipped() throws Exception {
+    CountDownLatch written = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      String cursor = changeFeedService.changes(since, 10).getCursor();
+      Future<Item> slow = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+        Item saved = itemRepository.saveAndFlush(Item.builder().name("slow").price(1000).stock(1).build());
+        written.countDown();
+        await(commit);
+        return saved;
+      }));
+      assertTrue(written.await(10, TimeUnit.SECONDS));
+      Item fast = itemRepository.save(Item.builder().name("fast").price(1000).stock(1).build());
+
+      // slow가 커밋되기 전에는 그 뒤의 fast도 내보내지 않는다. (커서가 slow의 기록을 지나가지 않도록)
+      ItemChangePage before = changeFeedService.changes(ItemChangeCursor.decode(cursor), 10);
+      assertTrue(before.getChanges().isEmpty());
+      assertEquals(cursor, before.getCursor());
+
+      commit.countDown();
+      Item slowItem = slow.get(10, TimeUnit.SECONDS);
+      ItemChangePage after = changeFeedService.changes(ItemChangeCursor.decode(cursor), 10);
+      assertEquals(
+        List.of(slowItem.getId(), fast.getId()),
+        after.getChanges().stream().map(ItemChange::getItemId).toList()
+      );
+    } finally {
+      commit.countDown();
+      executor.shutdown();
+      itemRepository.deleteAllInBatch();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cache.ItemSearchCache;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 버전은 커밋된 뒤에 올라가므로 @Transactional을 붙이지 않고, 별도의 DB를 사용한다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:conditional-get")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ItemConditionalGetTests {
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemSearchCache searchCache;
+
+  @BeforeEach
+  public void beforeEach() {
+    itemRepository.save(Item.builder().name("itemA").price(1000).stock(1).build());
+  }
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAllInBatch();
+  }
+
+  // 변경이 없으면 검색하지 않고 304
+  @Test
+  public void notModified() throws Exception {
+    for (String uri : new String[]{"/search?priceFloor=1", "/search-p?priceFloor=1&page=0&size=5"}) {
+      String etag = mockMvc.perform(get(uri))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+      long requests = searchCache.stats().requestCount();
+      mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+      // 검색 결과 캐시조차 거치지 않았다.
+      assertEquals(requests, searchCache.stats().requestCount());
+    }
+  }
+
+  // 변경이 커밋되면 ETag가 바뀌고, 새 결과를 내려준다.
+  @Test
+  public void modified() throws Exception {
+    String etag = mockMvc.perform(get("/search?priceFloor=1"))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    itemRepository.save(Item.builder().name("itemB").price(2000).stock(1).build());
+
+    String changed = mockMvc.perform(get("/search?priceFloor=1").header(HttpHeaders.IF_NONE_MATCH, etag))
+      .andExpect(status().isOk())
+      .andExpect(content().string(containsString("itemB")))
+      .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertNotEquals(etag, changed);
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.querydsl;
+
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /items/export, /search-stream은 다른 스레드에서 응답을 쓰므로 @Transactional을 붙이지 않고, 별도의 DB를 사용한다.
+// : 기본 비동기 요청 시간 제한을 아주 짧게 두고, 두 요청은 그와 상관없이 자기 시간 제한을 받는지 확인한다.
+@SpringBootTest(properties = {
+  "spring.datasource.url=jdbc:h2:mem:export-http",
+  "spring.mvc.async.request-timeout=100ms",
+  "item.export.timeout=10m",
+  "item.stream.timeout=5m"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ItemExportHttpTests {
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @BeforeEach
+  public void beforeEach() {
+    itemRepository.save(Item.builder().name("itemA").price(5000).stock(20).build());
+    itemRepository.save(Item.builder().name("itemB").price(6000).stock(30).build());
+  }
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAllInBatch();
+  }
+
+  @Test
+  public void exportTimeout() throws Exception {
+    MvcResult started = mockMvc.perform(get("/items/export?format=CSV"))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    // spring.mvc.async.request-timeout(100ms)이 아니라 item.export.timeout
+    assertEquals(10 * 60 * 1000L, started.getRequest().getAsyncContext().getTimeout());
+
+    MvcResult result = mockMvc.perform(asyncDispatch(started))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString("text/csv")))
+      .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("items.csv")))
+      .andReturn();
+    String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+    assertEquals(3, lines.length);
+    assertEquals("id,name,description,price,stock,shop_id,updated_at", lines[0]);
+  }
+
+  @Test
+  public void searchStreamTimeout() throws Exception {
+    MvcResult started = mockMvc.perform(get("/search-stream?priceFloor=1"))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    // spring.mvc.async.request-timeout(100ms)이 아니라 item.stream.timeout
+    assertEquals(5 * 60 * 1000L, started.getRequest().getAsyncContext().getTimeout());
+
+    MvcResult result = mockMvc.perform(asyncDispatch(started))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString("application/x-ndjson")))
+      .andReturn();
+    String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    assertEquals(2, body.split("\n").length);
+    assertTrue(body.contains("\"name\":\"itemA\""));
+    assertTrue(body.contains("\"name\":\"itemB\""));
+  }
+}
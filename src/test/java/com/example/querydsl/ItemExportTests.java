@@ -0,0 +1,128 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ExportResult;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.export.ColumnarRowWriter;
+import com.example.querydsl.export.ExportColumn;
+import com.example.querydsl.export.ExportFormat;
+import com.example.querydsl.export.ItemExportService;
+import com.example.querydsl.repo.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+public class ItemExportTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemExportService exportService;
+
+  private Item itemA;
+  private Item itemB;
+
+  @BeforeEach
+  public void beforeEach() {
+    itemA = itemRepository.save(Item.builder().name("itemA").description("red, \"large\"").price(5000).stock(20).build());
+    itemB = itemRepository.save(Item.builder().name("itemB").price(6000).stock(30).build());
+    itemRepository.save(Item.builder().name("itemC").price(8000).build());
+  }
+
+  // 헤더 + 행, 쉼표와 따옴표가 있는 값은 따옴표로 감싼다.
+  @Test
+  public void csv() throws Exception {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setPriceCeil(6000);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    ExportResult result = exportService.export(searchParams, ExportFormat.CSV, false, out);
+
+    assertEquals(2, result.getRows());
+    assertEquals(out.size(), result.getBytes());
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+    assertEquals(3, lines.length);
+    assertEquals("id,name,description,price,stock,shop_id,updated_at", lines[0]);
+    assertTrue(lines[1].startsWith(itemA.getId() + ",itemA,\"red, \"\"large\"\"\",5000,20,,"));
+    assertTrue(lines[2].startsWith(itemB.getId() + ",itemB,,6000,30,,"));
+  }
+
+  // gzip으로 압축해도 풀면 같은 내용
+  @Test
+  public void csvGzip() throws Exception {
+    ByteArrayOutputStream plain = new ByteArrayOutputStream();
+    exportService.export(new ItemSearchParams(), ExportFormat.CSV, false, plain);
+    ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+    ExportResult result = exportService.export(new ItemSearchParams(), ExportFormat.CSV, true, gzipped);
+
+    assertEquals(3, result.getRows());
+    assertEquals(gzipped.size(), result.getBytes());
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.toByteArray()))) {
+      assertArrayEquals(plain.toByteArray(), in.readAllBytes());
+    }
+  }
+
+  // 헤더, 블록(행 수, 컬럼별 null 비트맵 + 값), 끝 표시를 읽는다.
+  @Test
+  public void columnar() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exportService.export(new ItemSearchParams(), ExportFormat.COLUMNAR, false, out);
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals("ICOL", new String(in.readNBytes(4), StandardCharsets.US_ASCII));
+    assertEquals(1, in.readByte());
+    assertEquals(ItemExportService.COLUMNS.size(), in.readShort());
+    for (int i = 0; i < ItemExportService.COLUMNS.size(); i++) {
+      assertEquals(ItemExportService.COLUMNS.get(i).name(), in.readUTF());
+      in.readByte();
+    }
+
+    assertEquals(3, in.readInt());
+    // id: null 없음 -> 3개의 long
+    assertEquals(0, in.readByte());
+    List<Long> ids = List.of(in.readLong(), in.readLong(), in.readLong());
+    assertEquals(itemA.getId(), ids.get(0));
+    assertEquals(itemB.getId(), ids.get(1));
+    // name: null 없음 -> 길이 + UTF-8
+    assertEquals(0, in.readByte());
+    assertEquals("itemA", new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8));
+  }
+
+  // TIMESTAMP는 LocalDateTime을 주어진 시간대의 시각으로 보고 epoch millis로 쓴다.
+  @Test
+  public void columnarTimestampZone() throws Exception {
+    LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+    ZoneId seoul = ZoneId.of("Asia/Seoul");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ColumnarRowWriter writer = new ColumnarRowWriter(
+      out, List.of(new ExportColumn("updated_at", ExportColumn.Type.TIMESTAMP)), 10, seoul);
+    writer.write(new Object[]{updatedAt});
+    writer.close();
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    in.skipNBytes(4 + 1 + 2);
+    in.readUTF();
+    in.readByte();
+    assertEquals(1, in.readInt());
+    assertEquals(0, in.readByte());
+    // 2024-01-01T09:00+09:00 = 2024-01-01T00:00Z
+    assertEquals(updatedAt.atZone(seoul).toInstant().toEpochMilli(), in.readLong());
+    assertEquals(1704067200000L, updatedAt.atZone(seoul).toInstant().toEpochMilli());
+  }
+}
@@ -0,0 +1,34 @@
+package com.example.querydsl;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+// ItemIndexPlanTests와 같은 조건들을 SQLite(dev 환경과 같은 DB)에서 확인한다.
+// : keyword 조건을 위해 schema-sqlite.sql(item_fts)도 실행한다.
+@SpringBootTest(properties = {
+  "spring.datasource.url=jdbc:sqlite:build/index-plan-test.sqlite",
+  "spring.datasource.driver-class-name=org.sqlite.JDBC",
+  "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+  "spring.sql.init.mode=always",
+  "spring.sql.init.platform=sqlite",
+  "spring.sql.init.separator=;;"
+})
+public class ItemIndexPlanSqliteTests extends ItemIndexPlanTests {
+
+  // EXPLAIN QUERY PLAN의 detail 컬럼
+  // 예) SEARCH item USING INDEX idx_item_price (price>?) , SCAN item
+  @Override
+  protected List<String> plan(String sql, Object[] binds) {
+    return jdbcTemplate.queryForList("EXPLAIN QUERY PLAN " + sql, binds)
+      .stream()
+      .map(row -> String.valueOf(row.get("detail")))
+      .toList();
+  }
+
+  // FTS5 가상 테이블은 MATCH로 색인을 읽어도 "SCAN item_fts VIRTUAL TABLE INDEX ..."로 나온다.
+  @Override
+  protected boolean isTableScan(List<String> plan) {
+    return plan.stream().anyMatch(line -> line.startsWith("SCAN") && !line.contains("VIRTUAL TABLE"));
+  }
+}
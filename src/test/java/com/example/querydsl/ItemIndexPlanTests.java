@@ -0,0 +1,128 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.Shop;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.repo.ShopRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// searchDynamic이 만들 수 있는 where절의 모양마다, 실제로 만들어진 SQL의 실행 계획을 확인해서
+// item 전체 테이블 조회(table scan)가 되면 실패한다. (H2)
+// : 실행된 SQL은 StatementInspector(StatementCountExtension)로 받아서, 같은 바인딩 값으로 EXPLAIN 한다.
+// SQLite는 ItemIndexPlanSqliteTests
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+@ExtendWith(StatementCountExtension.class)
+public class ItemIndexPlanTests {
+  // FTS 검색어: ItemQuerydslRepoImpl.matchQuery("item1")
+  private static final String MATCH = "\"item1\"*";
+
+  @Autowired
+  protected ItemRepository itemRepository;
+  @Autowired
+  protected ShopRepository shopRepository;
+  @Autowired
+  protected JdbcTemplate jdbcTemplate;
+  @Autowired
+  protected EntityManager entityManager;
+
+  // 검색 조건 + 만들어지는 SQL의 바인딩 값 (SQL에 나오는 순서)
+  // 순서: name, keyword, price(floor, ceil), shopId, shopName, (keyword가 있으면) order by의 keyword
+  record Shape(String name, ItemSearchParams params, Object[] binds) {
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  static Shape shape(String name, Consumer<ItemSearchParams> conditions, Object... binds) {
+    ItemSearchParams params = new ItemSearchParams();
+    conditions.accept(params);
+    return new Shape(name, params, binds);
+  }
+
+  // ItemQuerydslRepoImpl.searchConditions()의 각 조건과, 자주 쓰는 조합
+  // (조건이 하나도 없는 경우는 전체 조회이므로 제외)
+  static Stream<Shape> predicateShapes() {
+    return Stream.of(
+      // nameEquals (+ priceBetween / priceGoe / priceLoe)
+      shape("name", p -> p.setName("item1"), "item1"),
+      shape("name+priceBetween", p -> { p.setName("item1"); p.setPriceFloor(1000); p.setPriceCeil(2000); },
+        "item1", 1000, 2000),
+      shape("name+priceGoe", p -> { p.setName("item1"); p.setPriceFloor(1000); }, "item1", 1000),
+      shape("name+priceLoe", p -> { p.setName("item1"); p.setPriceCeil(2000); }, "item1", 2000),
+      // priceBetween / priceGoe / priceLoe
+      shape("priceBetween", p -> { p.setPriceFloor(1000); p.setPriceCeil(2000); }, 1000, 2000),
+      shape("priceGoe", p -> p.setPriceFloor(1500), 1500),
+      shape("priceLoe", p -> p.setPriceCeil(1050), 1050),
+      // shopIdEquals
+      shape("shopId", p -> p.setShopId(1L), 1L),
+      shape("priceGoe+shopId", p -> { p.setPriceFloor(1500); p.setShopId(1L); }, 1500, 1L),
+      // shopNameEquals (shop 서브쿼리)
+      shape("shopName", p -> p.setShopName("shopA"), "shopA"),
+      shape("priceLoe+shopName", p -> { p.setPriceCeil(1050); p.setShopName("shopA"); }, 1050, "shopA"),
+      // keywordMatches (전문 검색 + 관련도 정렬)
+      shape("keyword", p -> p.setKeyword("item1"), MATCH, MATCH),
+      shape("keyword+priceGoe", p -> { p.setKeyword("item1"); p.setPriceFloor(1500); }, MATCH, 1500, MATCH)
+    );
+  }
+
+  @BeforeEach
+  public void beforeEach() {
+    List<Shop> shops = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      shops.add(Shop.builder().name("shop" + (char) ('A' + i)).build());
+    }
+    shopRepository.saveAll(shops);
+
+    List<Item> items = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      items.add(Item.builder()
+        .shop(shops.get(i % shops.size()))
+        .name("item" + i % 50)
+        .price(1000 + i)
+        .stock(i)
+        .build());
+    }
+    itemRepository.saveAll(items);
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @ParameterizedTest
+  @MethodSource("predicateShapes")
+  public void usesIndex(Shape shape, StatementCountExtension.Statements statements) {
+    String sql = statements.captureSingle(() -> itemRepository.searchDynamic(shape.params()));
+    List<String> plan = plan(sql, shape.binds());
+    plan.forEach(System.out::println);
+    assertFalse(isTableScan(plan), () -> "table scan: " + shape + "\n" + sql + "\n-> " + plan);
+  }
+
+  // H2의 EXPLAIN은 사용하는 인덱스를 주석으로 보여준다.
+  // 예) /* PUBLIC.IDX_ITEM_PRICE: PRICE >= ?1 */ , /* PUBLIC.ITEM.tableScan */
+  protected List<String> plan(String sql, Object[] binds) {
+    return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, binds);
+  }
+
+  protected boolean isTableScan(List<String> plan) {
+    return plan.stream().anyMatch(line -> line.contains("tableScan"));
+  }
+}
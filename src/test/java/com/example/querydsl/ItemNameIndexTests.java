@@ -0,0 +1,138 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemCreateDto;
+import com.example.querydsl.dto.ItemDto;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.index.ItemNameIndex;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.service.ItemBulkService;
+import com.example.querydsl.service.ItemSuggestService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 색인은 커밋된 변경만 반영하므로 @Transactional을 붙이지 않고, 별도의 DB를 사용한다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:name-index")
+@ActiveProfiles("test")
+public class ItemNameIndexTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemNameIndex itemNameIndex;
+  @Autowired
+  private ItemSuggestService suggestService;
+  @Autowired
+  private ItemBulkService bulkService;
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAll();
+    itemNameIndex.rebuild();
+  }
+
+  @Test
+  public void prefixAndContains() {
+    Item apple = save("Apple", 1000);
+    Item pineapple = save("pineapple", 2000);
+    Item applePie = save("apple pie", 3000);
+    save("banana", 4000);
+
+    // 대소문자 구분 없음, 이름 순서
+    assertEquals(List.of(apple.getId(), applePie.getId()), itemNameIndex.startsWith("APP", 10));
+    assertEquals(List.of(apple.getId()), itemNameIndex.startsWith("app", 1));
+    assertEquals(3, itemNameIndex.contains("pple", 10).size());
+    assertTrue(itemNameIndex.contains("neap", 10).contains(pineapple.getId()));
+    // 조각(trigram)은 모두 있지만 이어지지 않는 경우
+    assertTrue(itemNameIndex.contains("applepie", 10).isEmpty());
+    // 3글자보다 짧은 검색어
+    assertEquals(4, itemNameIndex.contains("a", 10).size());
+  }
+
+  // 부분 일치도 이름 순서로 앞의 limit개를 준다. (1, 2글자 검색어 포함)
+  @Test
+  public void containsOrderedByName() {
+    Item pear = save("pear", 1000);
+    Item apple = save("apple", 1000);
+    Item grape = save("grape", 1000);
+    Item banana = save("banana", 1000);
+
+    assertEquals(List.of(apple.getId(), banana.getId(), grape.getId()), itemNameIndex.contains("a", 3));
+    assertEquals(List.of(apple.getId(), grape.getId()), itemNameIndex.contains("p", 2));
+    assertEquals(List.of(apple.getId(), grape.getId()), itemNameIndex.contains("AP", 10));
+    assertEquals(List.of(apple.getId(), grape.getId(), pear.getId()), itemNameIndex.contains("e", 10));
+  }
+
+  // 등록 / 수정 / 삭제가 커밋되면 색인에 반영된다.
+  @Test
+  public void updatedOnWrites() {
+    Item item = save("keyboard", 1000);
+    assertEquals(List.of(item.getId()), itemNameIndex.startsWith("key", 10));
+
+    item.setName("mouse");
+    itemRepository.save(item);
+    itemNameIndex.flush();
+    assertTrue(itemNameIndex.startsWith("key", 10).isEmpty());
+    assertEquals(List.of(item.getId()), itemNameIndex.contains("ous", 10));
+
+    itemRepository.delete(item);
+    itemNameIndex.flush();
+    assertTrue(itemNameIndex.contains("ous", 10).isEmpty());
+  }
+
+  // 가격/재고만 바뀌는 변경은 색인을 다시 읽지 않고, 대량 등록/벌크 삭제는 바뀐 Item만 다시 읽는다.
+  @Test
+  public void bulkChanges() {
+    Item keyboard = save("keyboard", 1000);
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setName("keyboard");
+    assertTrue(itemRepository.reserveStock(keyboard.getId(), 1));
+    itemRepository.updateStock(searchParams, 10);
+    itemNameIndex.flush();
+    assertEquals(List.of(keyboard.getId()), itemNameIndex.startsWith("key", 10));
+
+    bulkService.ingest(List.of(dto("keypad"), dto("monitor")));
+    itemNameIndex.flush();
+    assertEquals(2, itemNameIndex.startsWith("key", 10).size());
+    assertEquals(3, itemNameIndex.size());
+
+    itemRepository.deleteDynamic(searchParams);
+    itemNameIndex.flush();
+    assertEquals(1, itemNameIndex.startsWith("key", 10).size());
+    assertEquals(2, itemNameIndex.size());
+  }
+
+  // 후보 id를 가격 조건과 함께 DB에서 확인한다.
+  @Test
+  public void suggestWithPriceFilter() {
+    save("apple", 1000);
+    save("apple pie", 3000);
+    save("pineapple", 5000);
+
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setPriceFloor(2000);
+    List<ItemDto> prefix = suggestService.suggest("app", false, searchParams, 10);
+    assertEquals(1, prefix.size());
+    assertEquals("apple pie", prefix.get(0).getName());
+
+    List<ItemDto> contains = suggestService.suggest("apple", true, searchParams, 10);
+    assertEquals(List.of("apple pie", "pineapple"), contains.stream().map(ItemDto::getName).toList());
+  }
+
+  // 색인은 다른 스레드에서 반영되므로 반영될 때까지 기다린다.
+  private Item save(String name, int price) {
+    Item item = itemRepository.save(Item.builder().name(name).price(price).stock(1).build());
+    itemNameIndex.flush();
+    return item;
+  }
+
+  private static ItemCreateDto dto(String name) {
+    return new ItemCreateDto(name, null, 1000, 1, null);
+  }
+}
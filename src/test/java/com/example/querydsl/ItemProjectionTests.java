@@ -0,0 +1,74 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cache.ItemSearchCache;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.index.ItemNameIndex;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.stats.ShopStatsAggregator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /search는 Entity를 거치지 않고 바로 ItemDto로 조회한다. (Entity 조회와 비교한 측정은 src/jmh의 ProjectionBenchmark)
+// : 요청마다 커밋되므로 @Transactional을 붙이지 않고, 별도의 DB를 사용한다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:projection")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ItemProjectionTests {
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemSearchCache searchCache;
+  @Autowired
+  private ShopStatsAggregator statsAggregator;
+  @Autowired
+  private ItemNameIndex nameIndex;
+  @Autowired
+  private EntityManagerFactory managerFactory;
+
+  @BeforeEach
+  public void beforeEach() {
+    itemRepository.save(Item.builder().name("itemA").price(1000).stock(1).build());
+    itemRepository.save(Item.builder().name("itemB").price(2000).stock(2).build());
+    searchCache.clear();
+    // 다른 스레드에서 Item을 읽는 작업이 통계에 섞이지 않도록 기다린다.
+    statsAggregator.flush();
+    nameIndex.flush();
+  }
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAllInBatch();
+  }
+
+  @Test
+  public void searchReturnsDtoWithoutLoadingEntities() throws Exception {
+    Statistics statistics = managerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    String body = mockMvc.perform(get("/search?priceFloor=1"))
+      .andExpect(status().isOk())
+      .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+    assertTrue(body.contains("\"name\":\"itemA\""));
+    assertTrue(body.contains("\"cost\":2000"));
+    assertEquals(1, statistics.getQueryExecutionCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+}
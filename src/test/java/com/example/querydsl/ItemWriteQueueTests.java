@@ -0,0 +1,104 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemCreateDto;
+import com.example.querydsl.dto.ItemWriteResult;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.service.ItemWriteQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 쓰기 큐는 별도의 스레드에서 커밋하므로 @Transactional을 붙이지 않는다.
+// : 배치가 잘 모이도록 대기 시간을 늘려둔다.
+@SpringBootTest(properties = {
+  "spring.datasource.url=jdbc:h2:mem:write-queue",
+  "item.write-queue.max-wait-ms=50"
+})
+@ActiveProfiles("test")
+public class ItemWriteQueueTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemWriteQueue writeQueue;
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAllInBatch();
+  }
+
+  // 여러 스레드의 등록이 몇 개의 트랜잭션으로 묶여서 모두 커밋된다.
+  @Test
+  public void groupCommit() throws Exception {
+    int threads = 16;
+    int perThread = 20;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<List<ItemWriteResult>>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      int thread = t;
+      futures.add(executor.submit(() -> {
+        List<CompletableFuture<ItemWriteResult>> pending = new ArrayList<>();
+        for (int i = 0; i < perThread; i++) {
+          pending.add(writeQueue.insert(new ItemCreateDto("queued" + thread, null, 1000 + i, i, null)));
+        }
+        List<ItemWriteResult> results = new ArrayList<>();
+        for (CompletableFuture<ItemWriteResult> future : pending) results.add(future.get(10, TimeUnit.SECONDS));
+        return results;
+      }));
+    }
+
+    List<ItemWriteResult> results = new ArrayList<>();
+    for (Future<List<ItemWriteResult>> future : futures) results.addAll(future.get());
+    executor.shutdown();
+
+    assertEquals(threads * perThread, results.size());
+    assertEquals(threads * perThread, itemRepository.count());
+    // 모든 요청이 id를 받는다.
+    assertTrue(results.stream().allMatch(result -> result.getId() != null));
+    // 적어도 일부는 같은 커밋으로 묶였다.
+    assertTrue(results.stream().anyMatch(result -> result.getBatchSize() > 1));
+  }
+
+  @Test
+  public void update() throws Exception {
+    Long id = writeQueue.insert(new ItemCreateDto("before", "desc", 1000, 1, null))
+      .get(10, TimeUnit.SECONDS)
+      .getId();
+
+    ItemCreateDto changes = new ItemCreateDto();
+    changes.setPrice(2000);
+    writeQueue.update(id, changes).get(10, TimeUnit.SECONDS);
+
+    Item item = itemRepository.findById(id).orElseThrow();
+    assertEquals(2000, item.getPrice());
+    // null인 값은 바뀌지 않는다.
+    assertEquals("before", item.getName());
+  }
+
+  // 없는 Item의 수정은 실패하지만, 같은 배치의 다른 요청은 커밋된다.
+  @Test
+  public void failureIsolated() throws Exception {
+    CompletableFuture<ItemWriteResult> missing = writeQueue.update(-1L, new ItemCreateDto());
+    CompletableFuture<ItemWriteResult> created = writeQueue.insert(new ItemCreateDto("ok", null, 1000, 1, null));
+
+    ExecutionException e = assertThrows(ExecutionException.class, () -> missing.get(10, TimeUnit.SECONDS));
+    assertInstanceOf(NoSuchElementException.class, e.getCause());
+    assertTrue(itemRepository.existsById(created.get(10, TimeUnit.SECONDS).getId()));
+  }
+
+  // 웹 서버보다 먼저 시작하고, 웹 서버가 요청을 받지 않게 된 뒤에 멈춘다.
+  @Test
+  public void stopsAfterWebServer() {
+    assertTrue(writeQueue.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+  }
+}
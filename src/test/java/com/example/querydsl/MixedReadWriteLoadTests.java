@@ -0,0 +1,71 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemCreateDto;
+import com.example.querydsl.service.ItemBulkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// SQLite에서 쓰기(GET / -> Item 저장)가 계속되는 동안 검색(읽기) 처리량 비교
+// : SingleDataSourceLoadTests (커넥션 풀 하나, rollback journal)
+// : RoutingDataSourceLoadTests (쓰기 커넥션 1개 + 읽기 풀, WAL)
+// ./gradlew test -PloadTest --tests '*DataSourceLoadTests'
+@Tag("load")
+public abstract class MixedReadWriteLoadTests {
+  static final int READERS = 50;
+  static final int WRITERS = 10;
+  static final int REQUESTS = 100;
+
+  @LocalServerPort
+  int port;
+  @Autowired
+  ItemBulkService bulkService;
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  public void seed() {
+    jdbcTemplate.update("DELETE FROM item");
+    List<ItemCreateDto> items = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      items.add(new ItemCreateDto("item" + i % 100, null, 1000 + i, i % 50, null));
+    }
+    bulkService.ingest(items);
+  }
+
+  @Test
+  public void readDuringWrites() throws Exception {
+    HttpLoadRunner runner = new HttpLoadRunner();
+    // 읽기만 있을 때
+    HttpLoadRunner.Result readOnly = runner.run(READERS, REQUESTS, this::search);
+
+    // 쓰기와 동시에
+    CompletableFuture<HttpLoadRunner.Result> writes = CompletableFuture.supplyAsync(() -> {
+      try {
+        return runner.run(WRITERS, REQUESTS, i -> HttpLoadRunner.get("http://localhost:" + port + "/"));
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    HttpLoadRunner.Result mixed = runner.run(READERS, REQUESTS, this::search);
+
+    System.out.printf("[%s] reads only:   %s%n", getClass().getSimpleName(), readOnly);
+    System.out.printf("[%s] reads+writes: %s%n", getClass().getSimpleName(), mixed);
+    System.out.printf("[%s] writes:       %s%n", getClass().getSimpleName(), writes.get());
+  }
+
+  // 매번 다른 조건으로 요청해서 검색 결과 캐시를 거의 타지 않도록
+  private HttpRequest search(int i) {
+    return HttpLoadRunner.get(
+      "http://localhost:" + port + "/search-p?priceFloor=" + (1000 + i % 9000) + "&page=1&size=20"
+    );
+  }
+}
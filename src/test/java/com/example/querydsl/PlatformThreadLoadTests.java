@@ -0,0 +1,12 @@
+package com.example.querydsl;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+  properties = "spring.datasource.url=jdbc:h2:mem:load-platform"
+)
+@ActiveProfiles("test")
+public class PlatformThreadLoadTests extends ThreadModeLoadTests {
+}
@@ -0,0 +1,96 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cache.ItemCountCache;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 쿼리마다 method, shape(검색 조건의 조합) tag로 실행 시간과 행 수가 기록된다.
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+public class QueryMetricsTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemCountCache countCache;
+  @Autowired
+  private MeterRegistry registry;
+
+  @BeforeEach
+  public void beforeEach() {
+    countCache.clear();
+
+    List<Item> items = new ArrayList<>();
+    for (int i = 1; i <= 10; i++) {
+      items.add(Item.builder().name("metrics").price(i * 1000).stock(i).build());
+    }
+    itemRepository.saveAll(items);
+  }
+
+  @Test
+  public void taggedByMethodAndShape() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setName("metrics");
+    searchParams.setPriceFloor(1000);
+    searchParams.setPriceCeil(4000);
+    long before = count("searchDynamicDto", "name+priceBetween");
+    double rowsBefore = rows("searchDynamicDto", "name+priceBetween");
+    itemRepository.searchDynamicDto(searchParams);
+    itemRepository.searchDynamicDto(searchParams);
+
+    assertEquals(before + 2, count("searchDynamicDto", "name+priceBetween"));
+    assertEquals(rowsBefore + 8, rows("searchDynamicDto", "name+priceBetween"));
+  }
+
+  // 페이지 검색은 content 쿼리와 Count 쿼리가 따로 기록된다.
+  @Test
+  public void pagedWithCount() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setPriceFloor(3000);
+    long contentBefore = count("searchDynamicDto.page", "priceGoe");
+    long countBefore = count("count", "priceGoe");
+    itemRepository.searchDynamicDto(searchParams, PageRequest.of(1, 3));
+
+    assertEquals(contentBefore + 1, count("searchDynamicDto.page", "priceGoe"));
+    assertEquals(countBefore + 1, count("count", "priceGoe"));
+  }
+
+  // 조건이 없으면 none
+  @Test
+  public void noFilter() {
+    long before = count("searchDynamic", "none");
+    itemRepository.searchDynamic(new ItemSearchParams());
+    assertEquals(before + 1, count("searchDynamic", "none"));
+  }
+
+  // 다른 테스트에서 기록된 값이 있을 수 있으므로 전후를 비교한다.
+  private long count(String method, String shape) {
+    Timer timer = registry.find("item.query")
+      .tags("method", method, "shape", shape, "outcome", "success")
+      .timer();
+    return timer == null ? 0 : timer.count();
+  }
+
+  private double rows(String method, String shape) {
+    DistributionSummary summary = registry.find("item.query.rows")
+      .tags("method", method, "shape", shape)
+      .summary();
+    return summary == null ? 0 : summary.totalAmount();
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.Shop;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.repo.ShopRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+public class QuerydslBulkTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ShopRepository shopRepository;
+
+  private Shop shopA;
+  private Item itemA;
+  private Item itemC;
+
+  @BeforeEach
+  public void beforeEach() {
+    shopA = shopRepository.save(Shop.builder()
+      .name("shopA")
+      .build());
+    Shop shopB = shopRepository.save(Shop.builder()
+      .name("shopB")
+      .build());
+
+    itemA = Item.builder().shop(shopA).name("itemA").price(5000).stock(20).build();
+    itemC = Item.builder().shop(shopB).name("itemC").price(8000).stock(40).build();
+    itemRepository.saveAll(List.of(
+      itemA,
+      Item.builder().shop(shopA).name("itemB").price(6000).stock(30).build(),
+      itemC
+    ));
+  }
+
+  @Test
+  public void updatePriceByPercent() {
+    LocalDateTime before = LocalDateTime.now().withNano(0);
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setPriceCeil(6000);
+
+    // 5000, 6000 -> 5250, 6300
+    assertEquals(2, itemRepository.updatePriceByPercent(searchParams, 5));
+
+    // 영속성 컨텍스트가 비워졌으므로 DB에서 다시 읽어온다.
+    Item updated = itemRepository.findById(itemA.getId()).orElseThrow();
+    assertNotSame(itemA, updated);
+    assertEquals(5250, updated.getPrice());
+    assertFalse(updated.getUpdatedAt().isBefore(before));
+    assertEquals(8000, itemRepository.findById(itemC.getId()).orElseThrow().getPrice());
+  }
+
+  // 가격 * (100 + percent)가 INT 범위를 넘어도 올바르게 계산한다.
+  @Test
+  public void updatePriceByPercentWithoutOverflow() {
+    Item expensive = itemRepository.save(Item.builder().name("expensive").price(100_000_000).stock(1).build());
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setName("expensive");
+
+    assertEquals(1, itemRepository.updatePriceByPercent(searchParams, 5));
+    assertEquals(105_000_000, itemRepository.findById(expensive.getId()).orElseThrow().getPrice());
+  }
+
+  @Test
+  public void updateStockByShop() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setShopId(shopA.getId());
+
+    assertEquals(2, itemRepository.updateStock(searchParams, 0));
+    assertEquals(0, itemRepository.findById(itemA.getId()).orElseThrow().getStock());
+    assertEquals(40, itemRepository.findById(itemC.getId()).orElseThrow().getStock());
+  }
+
+  @Test
+  public void deleteDynamic() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setName("itemC");
+
+    assertEquals(1, itemRepository.deleteDynamic(searchParams));
+    assertTrue(itemRepository.findById(itemC.getId()).isEmpty());
+  }
+}
@@ -0,0 +1,116 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cache.ItemCountCache;
+import com.example.querydsl.dto.CountedPage;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+// 추정치 모드를 확인하기 위해 예산을 작게 잡는다.
+@SpringBootTest(properties = "item.count.estimate-budget=10")
+@ActiveProfiles("test")
+public class QuerydslCountTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemCountCache countCache;
+
+  @BeforeEach
+  public void beforeEach() {
+    // 테스트 트랜잭션은 커밋되지 않으므로, 이전 테스트의 Count가 남아있지 않도록 비운다.
+    countCache.clear();
+
+    // price: 1000, 2000, ..., 30000
+    List<Item> items = new ArrayList<>();
+    for (int i = 1; i <= 30; i++) {
+      items.add(Item.builder()
+        .name(i % 2 == 0 ? "even" : "odd")
+        .price(i * 1000)
+        .stock(i)
+        .build());
+    }
+    itemRepository.saveAll(items);
+  }
+
+  // Count 쿼리도 검색 조건을 반영해야 한다.
+  @Test
+  public void filteredCount() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setName("even");
+    searchParams.setPriceCeil(20000);
+
+    // 두번째 페이지이므로 Count 쿼리가 실행된다.
+    Page<Item> page = itemRepository.searchDynamic(searchParams, PageRequest.of(1, 3));
+    page.forEach(System.out::println);
+
+    assertEquals(10, page.getTotalElements());
+    assertEquals(4, page.getTotalPages());
+    assertTrue(((CountedPage<Item>) page).isExact());
+  }
+
+  @Test
+  public void estimatedCount() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setName("odd");
+    searchParams.setEstimate(true);
+
+    Page<Item> page = itemRepository.searchDynamic(searchParams, PageRequest.of(1, 3));
+    System.out.println(page.getTotalElements());
+
+    // id 범위(30) > 예산(10) 이므로 고르게 흩어진 10개의 id (구간 10개 x 1개)의 비율(5/10)로 추정한다.
+    assertFalse(((CountedPage<Item>) page).isExact());
+    assertEquals(15, page.getTotalElements());
+  }
+
+  // 조건에 맞는 Item이 id 범위의 뒤쪽에만 몰려 있어도 추정할 수 있다.
+  // (앞쪽 구간만 세면 0으로 추정된다.)
+  @Test
+  public void estimatedCountSkewed() {
+    // 앞쪽 30개(odd, even) 뒤에 30개
+    List<Item> recent = new ArrayList<>();
+    for (int i = 1; i <= 30; i++) {
+      recent.add(Item.builder().name("recent").price(i * 1000).stock(i).build());
+    }
+    itemRepository.saveAll(recent);
+
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setName("recent");
+    searchParams.setEstimate(true);
+
+    Page<Item> page = itemRepository.searchDynamic(searchParams, PageRequest.of(1, 3));
+
+    // id 범위(60)에서 6개 간격으로 읽은 10개 중 뒤쪽 5개가 맞는다. (5/10 * 60)
+    assertFalse(((CountedPage<Item>) page).isExact());
+    assertEquals(30, page.getTotalElements());
+  }
+
+  // Count 도중에 무효화가 일어나면, 센 결과(오래된 값)를 캐시에 넣지 않는다.
+  @Test
+  public void invalidatedWhileCounting() {
+    CountedPage.Total stale = new CountedPage.Total(1, true);
+    CountedPage.Total loaded = countCache.get("key", () -> {
+      countCache.clear();
+      return stale;
+    });
+    assertSame(stale, loaded);
+    assertNull(countCache.getIfPresent("key"));
+
+    // 무효화가 없었다면 캐시에 남는다.
+    countCache.get("key", () -> stale);
+    assertSame(stale, countCache.getIfPresent("key"));
+  }
+}
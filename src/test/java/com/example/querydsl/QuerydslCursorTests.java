@@ -0,0 +1,169 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.CursorPage;
+import com.example.querydsl.dto.ItemCursor;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.Shop;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.repo.ShopRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+public class QuerydslCursorTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ShopRepository shopRepository;
+
+  // @BeforeEach: 각 테스트 전에 실행할 코드를 작성하는 영역
+  @BeforeEach
+  public void beforeEach() {
+    Shop shopA = shopRepository.save(Shop.builder()
+      .name("shopA")
+      .description("shop A description")
+      .build());
+    Shop shopB = shopRepository.save(Shop.builder()
+      .name("shopB")
+      .description("shop B description")
+      .build());
+
+    itemRepository.saveAll(List.of(
+      Item.builder()
+        .shop(shopA)
+        .name("itemA")
+        .price(5000)
+        .stock(20)
+        .build(),
+      Item.builder()
+        .shop(shopA)
+        .name("itemB")
+        .price(6000)
+        .stock(0)
+        .build(),
+      Item.builder()
+        .shop(shopB)
+        .name("itemC")
+        .price(6000)
+        .stock(0)
+        .build(),
+      Item.builder()
+        .shop(shopB)
+        .name("itemD")
+        .price(10000)
+        .stock(0)
+        .build(),
+      Item.builder()
+        .name("itemE")
+        .price(5500)
+        .stock(10)
+        .build(),
+      // 정렬 기준이 null인 Item
+      Item.builder()
+        .price(7500)
+        .stock(25)
+        .build(),
+      Item.builder()
+        .name("itemF")
+        .stock(25)
+        .build()
+    ));
+  }
+
+  // 같은 가격(6000)이 있어도 id로 순서가 고정되어 빠지거나 중복되는 행이 없어야 한다.
+  @Test
+  public void priceCursor() {
+    List<Item> results = readAll(new ItemSearchParams(), ItemCursor.SortKey.PRICE, 2);
+    results.forEach(System.out::println);
+
+    assertEquals(7, results.size());
+    // null 가격이 가장 앞에 온다.
+    assertNull(results.get(0).getPrice());
+    assertEquals(5000, results.get(1).getPrice());
+    assertEquals("itemB", results.get(3).getName());
+    assertEquals("itemC", results.get(4).getName());
+    assertEquals(10000, results.get(6).getPrice());
+  }
+
+  @Test
+  public void nameCursor() {
+    List<Item> results = readAll(new ItemSearchParams(), ItemCursor.SortKey.NAME, 3);
+    results.forEach(System.out::println);
+
+    assertEquals(7, results.size());
+    assertNull(results.get(0).getName());
+    assertEquals(
+      List.of("itemA", "itemB", "itemC", "itemD", "itemE", "itemF"),
+      results.subList(1, 7).stream().map(Item::getName).toList()
+    );
+  }
+
+  // 동적 조건과 함께 사용
+  @Test
+  public void cursorWithSearchParams() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setPriceFloor(5500);
+    searchParams.setPriceCeil(7500);
+
+    List<Item> results = readAll(searchParams, ItemCursor.SortKey.PRICE, 1);
+    results.forEach(System.out::println);
+
+    assertEquals(
+      List.of(5500, 6000, 6000, 7500),
+      results.stream().map(Item::getPrice).toList()
+    );
+  }
+
+  @Test
+  public void cursorEncoding() {
+    ItemCursor cursor = new ItemCursor(ItemCursor.SortKey.NAME, 3L, null, "a|b");
+    ItemCursor decoded = ItemCursor.decode(cursor.encode());
+    assertEquals(ItemCursor.SortKey.NAME, decoded.getSortKey());
+    assertEquals(3L, decoded.getId());
+    assertEquals("a|b", decoded.getName());
+
+    ItemCursor nullValue = ItemCursor.decode(
+      new ItemCursor(ItemCursor.SortKey.PRICE, 1L, null, null).encode());
+    assertNull(nullValue.getPrice());
+
+    assertThrows(IllegalArgumentException.class, () -> ItemCursor.decode("not-a-cursor"));
+  }
+
+  // 크기 제한: size + 1이 음수로 넘치거나 테이블 전체를 읽지 않는다.
+  @Test
+  public void cursorSizeLimit() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    assertThrows(IllegalArgumentException.class, () ->
+      itemRepository.searchCursor(searchParams, null, ItemCursor.SortKey.PRICE, Integer.MAX_VALUE));
+    assertThrows(IllegalArgumentException.class, () ->
+      itemRepository.searchCursor(searchParams, null, ItemCursor.SortKey.PRICE, 0));
+    assertTrue(itemRepository.searchCursor(searchParams, null, ItemCursor.SortKey.PRICE, ItemRepository.MAX_CURSOR_SIZE)
+      .getContent().size() <= ItemRepository.MAX_CURSOR_SIZE);
+  }
+
+  // 마지막 페이지까지 커서를 따라가며 전부 읽는다.
+  private List<Item> readAll(ItemSearchParams searchParams, ItemCursor.SortKey sortKey, int size) {
+    List<Item> results = new ArrayList<>();
+    ItemCursor cursor = null;
+    while (true) {
+      CursorPage<Item> page = itemRepository.searchCursor(searchParams, cursor, sortKey, size);
+      assertTrue(page.getContent().size() <= size);
+      results.addAll(page.getContent());
+      if (!page.isHasNext()) break;
+      cursor = ItemCursor.decode(page.getNextCursor());
+    }
+    return results;
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cache.ItemCountCache;
+import com.example.querydsl.dto.ItemDto;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// keyword: 이름, 설명에 대한 전문 검색 (테스트에서는 H2 내장 전문 검색, schema-h2.sql)
+// : H2의 fts_rank는 맞는 행마다 전문 검색을 다시 실행하므로 데이터를 작게 유지한다. (FullTextFunctionContributor)
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+public class QuerydslFullTextTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemCountCache countCache;
+
+  @BeforeEach
+  public void beforeEach() {
+    countCache.clear();
+    itemRepository.saveAll(List.of(
+      item("red apple", "fresh fruit", 1000),
+      item("green apple", "sour fruit", 2000),
+      item("banana", "yellow fruit", 3000),
+      item("apple juice", "drink", 4000),
+      item("keyboard", "not a fruit at all", 5000)
+    ));
+  }
+
+  @Test
+  public void keyword() {
+    // 이름
+    assertEquals(3, itemRepository.searchDynamic(params("apple")).size());
+    // 설명
+    assertEquals(4, itemRepository.searchDynamic(params("fruit")).size());
+    assertEquals(1, itemRepository.searchDynamic(params("apple juice")).size());
+    // 대소문자 구분 없음, 여러 단어는 모두 포함
+    List<Item> items = itemRepository.searchDynamic(params("Yellow FRUIT"));
+    assertEquals(1, items.size());
+    assertEquals("banana", items.get(0).getName());
+    // 없는 단어
+    assertTrue(itemRepository.searchDynamic(params("orange")).isEmpty());
+  }
+
+  // 다른 검색 조건, 페이지 처리와 함께 사용할 수 있다.
+  @Test
+  public void withPriceAndPaging() {
+    ItemSearchParams searchParams = params("apple");
+    searchParams.setPriceCeil(3000);
+    assertEquals(2, itemRepository.searchDynamicDto(searchParams).size());
+
+    Page<ItemDto> page = itemRepository.searchDynamicDto(params("fruit"), PageRequest.of(1, 3));
+    assertEquals(1, page.getContent().size());
+    assertEquals(4, page.getTotalElements());
+  }
+
+  // 검색어의 따옴표, FTS 연산자가 SQL / 검색 문법 오류를 만들지 않는다.
+  @Test
+  public void specialCharacters() {
+    assertEquals(3, itemRepository.searchDynamic(params("\"apple\" -")).size());
+    // OR도 하나의 단어로 검색된다. (연산자였다면 apple 3개 + banana 1개)
+    assertEquals(0, itemRepository.searchDynamic(params("apple OR banana")).size());
+    // 단어가 없으면 조건이 없는 것과 같다.
+    assertEquals(
+      itemRepository.searchDynamic(new ItemSearchParams()).size(),
+      itemRepository.searchDynamic(params("  - ")).size()
+    );
+  }
+
+  private ItemSearchParams params(String keyword) {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setKeyword(keyword);
+    return searchParams;
+  }
+
+  private Item item(String name, String description, int price) {
+    return Item.builder()
+      .name(name)
+      .description(description)
+      .price(price)
+      .stock(10)
+      .build();
+  }
+}
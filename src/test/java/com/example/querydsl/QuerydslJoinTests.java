@@ -13,6 +13,7 @@ import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceUnitUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
@@ -28,6 +29,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @Transactional
 @SpringBootTest
 @ActiveProfiles("test")
+// 실행된 SQL 문장 수 확인 (StatementCountExtension.Statements)
+@ExtendWith(StatementCountExtension.class)
 public class QuerydslJoinTests {
   // @Autowired
   // : 의존성 주입이 되어야 하는 속성임을 나타낸다.
@@ -132,29 +135,32 @@ public class QuerydslJoinTests {
   // fetch join
   // : 연관된 데이터를 한꺼번에 가져오기 (N+1 문제 방지)
   @Test
-  public void fetchJoin() {
+  public void fetchJoin(StatementCountExtension.Statements statements) {
     // 영속성 컨텍스트 초기화
     entityManager.flush(); // 영속성 컨텍스트에서 데이터를 저장
     entityManager.clear(); // 영속성 컨텍스트가 저장된 데이터를 버린다.
 
     // 그냥 join은 연관 데이터를 불러오지는 않는다. (연관된 데이터를 활용해서 where절에서 사용하기 위해 사용한다.)
-    Item found = queryFactory
+    Item found = statements.assertCount(1, () -> queryFactory
       .selectFrom(item)
       .join(item.shop)
       .where(item.name.eq("itemA"))
-      .fetchOne();
+      .fetchOne());
     // 검색한 데이터의 Shop 데이터는 가져와지지 않은 상태
     assertFalse(unitUtil.isLoaded(found.getShop())); // false 성공
 
-    found = queryFactory
+    found = statements.assertCount(1, () -> queryFactory
       .selectFrom(item)
       .join(item.shop)
       // Fetch Join으로 변경
       .fetchJoin()
       .where(item.name.eq("itemB"))
-      .fetchOne();
+      .fetchOne());
     // 검색한 데이터의 Shop 데이터는 가져와진 상태
     assertTrue(unitUtil.isLoaded(found.getShop())); // true 성공
+    // 이미 가져왔으니 Shop을 사용해도 추가 SQL이 없다. (N+1 없음)
+    Item fetched = found;
+    statements.assertCount(0, () -> fetched.getShop().getName());
   }
 
   /*
@@ -0,0 +1,82 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cache.ItemCountCache;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Count 쿼리는 다른 커넥션에서 실행되므로, 데이터가 커밋되어 있어야 한다. (@Transactional 없음)
+@SpringBootTest(properties = {
+  "item.search.parallel-count=true",
+  "spring.datasource.url=jdbc:h2:mem:parallel-count"
+})
+@ActiveProfiles("test")
+public class QuerydslParallelCountTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ItemCountCache countCache;
+
+  @BeforeEach
+  public void beforeEach() {
+    countCache.clear();
+
+    // price: 1000, 2000, ..., 30000
+    List<Item> items = new ArrayList<>();
+    for (int i = 1; i <= 30; i++) {
+      items.add(Item.builder()
+        .name(i % 2 == 0 ? "even" : "odd")
+        .price(i * 1000)
+        .stock(i)
+        .build());
+    }
+    itemRepository.saveAll(items);
+  }
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAllInBatch();
+  }
+
+  // 동시에 실행해도 결과는 순서대로 실행했을 때와 같다.
+  @Test
+  public void parallelCount() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setName("even");
+    searchParams.setPriceCeil(20000);
+
+    Page<Item> page = itemRepository.searchDynamic(searchParams, PageRequest.of(1, 3));
+    assertEquals(3, page.getContent().size());
+    assertEquals(10, page.getTotalElements());
+    assertEquals(4, page.getTotalPages());
+
+    // DTO, Shop join 검색도 같은 경로를 사용한다.
+    assertEquals(10, itemRepository.searchDynamicDto(searchParams, PageRequest.of(2, 3)).getTotalElements());
+    assertEquals(10, itemRepository.searchWithShop(searchParams, PageRequest.of(1, 3)).getTotalElements());
+  }
+
+  // Count가 필요 없는 페이지(첫 페이지가 다 채워지지 않은 경우)에서는 취소되고, 결과는 content 크기
+  @Test
+  public void countNotNeeded() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setName("odd");
+    searchParams.setPriceCeil(5000);
+
+    Page<Item> page = itemRepository.searchDynamic(searchParams, PageRequest.of(0, 10));
+    assertEquals(3, page.getTotalElements());
+    assertEquals(1, page.getTotalPages());
+  }
+}
@@ -0,0 +1,107 @@
+package com.example.querydsl;
+
+import com.example.querydsl.cache.ItemCountCache;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.dto.ItemShopDto;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.Shop;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.repo.ShopRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Shop 정보를 포함한 검색에서 Item 수와 상관없이 SQL 수가 일정한지 확인한다.
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+public class QuerydslShopSearchTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ShopRepository shopRepository;
+  @Autowired
+  private ItemCountCache countCache;
+  @Autowired
+  private EntityManager entityManager;
+  @Autowired
+  private EntityManagerFactory managerFactory;
+  // Hibernate가 실행한 SQL 수 등의 통계 (application-test.yaml의 generate_statistics)
+  private Statistics statistics;
+
+  @BeforeEach
+  public void beforeEach() {
+    statistics = managerFactory.unwrap(SessionFactory.class).getStatistics();
+    countCache.clear();
+
+    List<Shop> shops = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      shops.add(shopRepository.save(Shop.builder()
+        .name("shop" + i)
+        .build()));
+    }
+    List<Item> items = new ArrayList<>();
+    for (int i = 0; i < 150; i++) {
+      items.add(Item.builder()
+        .shop(shops.get(i % shops.size()))
+        .name("item" + i)
+        .price(1000 + i)
+        .stock(i)
+        .build());
+    }
+    itemRepository.saveAll(items);
+
+    // 영속성 컨텍스트에 남아있는 Shop을 재사용하지 않도록
+    entityManager.flush();
+    entityManager.clear();
+    statistics.clear();
+  }
+
+  // 100개의 Item + Shop: content 1번 + count 1번
+  @Test
+  public void searchWithShopJoin() {
+    Page<ItemShopDto> page = itemRepository.searchWithShop(new ItemSearchParams(), PageRequest.of(0, 100));
+
+    assertEquals(100, page.getNumberOfElements());
+    assertEquals(150, page.getTotalElements());
+    assertNotNull(page.getContent().get(0).getShopName());
+    assertEquals(2, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  public void searchWithShopName() {
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setShopName("shop3");
+
+    Page<ItemShopDto> page = itemRepository.searchWithShop(searchParams, PageRequest.of(0, 100));
+    assertEquals(15, page.getNumberOfElements());
+    page.forEach(found -> assertEquals("shop3", found.getShopName()));
+    // 한 페이지에 다 들어왔으므로 Count는 실행되지 않는다.
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+
+  // Entity로 조회한 뒤 getShop()을 사용해도
+  // default_batch_fetch_size 덕분에 Shop은 IN (...) 한번으로 조회된다.
+  @Test
+  public void entityPathBatchFetch() {
+    Page<Item> page = itemRepository.searchDynamic(new ItemSearchParams(), PageRequest.of(0, 100));
+    page.forEach(found -> assertNotNull(found.getShop().getName()));
+
+    // content 1번 + count 1번 + Shop 1번
+    assertEquals(3, statistics.getPrepareStatementCount());
+  }
+}
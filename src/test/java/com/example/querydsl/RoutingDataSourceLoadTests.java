@@ -0,0 +1,19 @@
+package com.example.querydsl;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+  properties = {
+    "spring.datasource.url=jdbc:sqlite:build/load-routing.sqlite",
+    "spring.datasource.driver-class-name=org.sqlite.JDBC",
+    "spring.datasource.hikari.data-source-properties.busy_timeout=5000",
+    "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+    "item.datasource.routing=true",
+    "item.datasource.reader-pool-size=8"
+  }
+)
+@ActiveProfiles("test")
+public class RoutingDataSourceLoadTests extends MixedReadWriteLoadTests {
+}
@@ -0,0 +1,86 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemCursor;
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 읽기/쓰기 커넥션 분리 (RoutingDataSourceConfig)
+@SpringBootTest(properties = {
+  "spring.datasource.url=jdbc:sqlite:build/routing-test.sqlite",
+  "spring.datasource.driver-class-name=org.sqlite.JDBC",
+  "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+  "spring.datasource.hikari.maximum-pool-size=8",
+  "spring.datasource.hikari.connection-timeout=1000",
+  "item.datasource.routing=true",
+  "item.datasource.reader-pool-size=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RoutingDataSourceTests {
+  @Autowired
+  @Qualifier("writerDataSource")
+  private HikariDataSource writer;
+  @Autowired
+  @Qualifier("readerDataSource")
+  private HikariDataSource reader;
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private MockMvc mockMvc;
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAll();
+  }
+
+  // spring.datasource.hikari.*는 두 풀에 모두 적용되고, 이름과 크기만 풀마다 다르다.
+  @Test
+  public void hikariProperties() {
+    assertEquals(1000, writer.getConnectionTimeout());
+    assertEquals(1000, reader.getConnectionTimeout());
+    assertEquals(1, writer.getMaximumPoolSize());
+    assertEquals(2, reader.getMaximumPoolSize());
+    assertEquals("sqlite-writer", writer.getPoolName());
+    assertEquals("sqlite-reader", reader.getPoolName());
+  }
+
+  // 쓰기 풀의 커넥션(1개)을 붙잡고 있어도, 트랜잭션 밖에서 호출한 조회는 읽기 풀을 사용하므로 기다리지 않는다.
+  // (쓰기 풀을 사용하면 connection-timeout 후에 실패한다.)
+  @Test
+  public void readsOutsideTransactionDoNotTakeWriter() throws Exception {
+    itemRepository.save(Item.builder().name("item").price(1000).stock(10).build());
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setPriceFloor(1);
+
+    try (Connection held = writer.getConnection()) {
+      assertEquals(1, itemRepository.searchDynamic(searchParams).size());
+      assertEquals(1, itemRepository.searchDynamic(searchParams, PageRequest.of(0, 10)).getContent().size());
+      assertEquals(1, itemRepository.searchCursor(searchParams, null, ItemCursor.SortKey.PRICE, 10).getContent().size());
+
+      // open-in-view를 끈 상태에서 요청 전체가 쓰기 커넥션을 붙잡지 않는다.
+      mockMvc.perform(get("/search-cursor?priceFloor=1&size=10"))
+        .andExpect(status().isOk());
+      mockMvc.perform(get("/search-p?priceFloor=1"))
+        .andExpect(status().isOk());
+
+      assertEquals(1, writer.getHikariPoolMXBean().getActiveConnections());
+    }
+  }
+}
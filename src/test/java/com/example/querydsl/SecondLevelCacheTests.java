@@ -0,0 +1,97 @@
+package com.example.querydsl;
+
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.Shop;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.repo.ShopRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 2차 캐시는 커밋된 데이터만 담으므로 @Transactional을 붙이지 않고, 별도의 DB를 사용한다.
+// 각 조회는 TransactionTemplate으로 새 트랜잭션(= 새 영속성 컨텍스트)에서 실행한다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:second-level-cache")
+@ActiveProfiles("test")
+public class SecondLevelCacheTests {
+  @Autowired
+  private ShopRepository shopRepository;
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private EntityManagerFactory managerFactory;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  private Statistics statistics;
+
+  private Shop shopA;
+  private Item itemA;
+
+  @BeforeEach
+  public void beforeEach() {
+    statistics = managerFactory.unwrap(SessionFactory.class).getStatistics();
+    shopA = shopRepository.save(Shop.builder().name("shopA").build());
+    shopRepository.save(Shop.builder().name("shopB").build());
+    itemA = itemRepository.save(Item.builder().shop(shopA).name("itemA").price(1000).stock(1).build());
+    statistics.clear();
+  }
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAllInBatch();
+    shopRepository.deleteAllInBatch();
+    managerFactory.getCache().evictAll();
+  }
+
+  // id로 조회하면 DB를 거치지 않는다.
+  @Test
+  public void findById() {
+    for (int i = 0; i < 3; i++) {
+      Shop found = transactionTemplate.execute(status -> shopRepository.findById(shopA.getId()).orElseThrow());
+      assertEquals("shopA", found.getName());
+    }
+    assertEquals(0, statistics.getPrepareStatementCount());
+    assertTrue(statistics.getSecondLevelCacheHitCount() >= 3);
+  }
+
+  // Item.getShop()의 Lazy 로딩도 2차 캐시에서 읽는다. (Item 조회 SQL만 실행된다.)
+  @Test
+  public void lazyShop() {
+    for (int i = 0; i < 3; i++) {
+      String shopName = transactionTemplate.execute(status ->
+        itemRepository.findById(itemA.getId()).orElseThrow().getShop().getName());
+      assertEquals("shopA", shopName);
+    }
+    assertEquals(3, statistics.getPrepareStatementCount());
+  }
+
+  // 쿼리 캐시: 두번째부터는 SQL을 실행하지 않고, Shop 변경이 커밋되면 다시 조회한다.
+  @Test
+  public void queryCache() {
+    List<Shop> first = shopRepository.findAllCached();
+    long afterFirst = statistics.getPrepareStatementCount();
+    assertEquals(2, first.size());
+    assertEquals(1, afterFirst);
+
+    List<Shop> second = shopRepository.findAllCached();
+    assertEquals(2, second.size());
+    assertEquals(afterFirst, statistics.getPrepareStatementCount());
+    assertEquals(1, statistics.getQueryCacheHitCount());
+
+    shopRepository.save(Shop.builder().name("shopC").build());
+    statistics.clear();
+    assertEquals(3, shopRepository.findAllCached().size());
+    // INSERT 이후에는 캐시된 결과를 사용하지 않는다.
+    assertEquals(1, statistics.getPrepareStatementCount());
+  }
+}
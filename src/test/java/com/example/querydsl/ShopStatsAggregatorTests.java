@@ -0,0 +1,140 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemSearchParams;
+import com.example.querydsl.dto.ShopStatsDto;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.entity.Shop;
+import com.example.querydsl.event.ItemChangedEvent;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.repo.ShopRepository;
+import com.example.querydsl.stats.ShopStatsAggregator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 통계는 커밋된 변경만 반영하므로 @Transactional을 붙이지 않고, 별도의 DB를 사용한다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:stats")
+@ActiveProfiles("test")
+public class ShopStatsAggregatorTests {
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private ShopRepository shopRepository;
+  @Autowired
+  private ShopStatsAggregator aggregator;
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAll();
+    shopRepository.deleteAll();
+    aggregator.rebuild();
+  }
+
+  @Test
+  public void incrementalUpdates() {
+    Shop shopA = shopRepository.save(Shop.builder().name("shopA").build());
+    Shop shopB = shopRepository.save(Shop.builder().name("shopB").build());
+    Item itemA = itemRepository.save(Item.builder().shop(shopA).name("itemA").price(5000).stock(20).build());
+    itemRepository.save(Item.builder().shop(shopA).name("itemB").price(6000).stock(30).build());
+    Item itemC = itemRepository.save(Item.builder().shop(shopB).name("itemC").price(8000).stock(40).build());
+    // Shop이 없는 Item은 제외된다.
+    itemRepository.save(Item.builder().name("itemE").price(5500).stock(10).build());
+
+    ShopStatsDto a = stats(shopA);
+    assertEquals(2, a.getItemCount());
+    assertEquals(5000, a.getMinPrice());
+    assertEquals(6000, a.getMaxPrice());
+    assertEquals(5500.0, a.getAvgPrice());
+    assertEquals(50, a.getTotalStock());
+
+    // 수정: 최저가였던 Item의 가격을 올린다.
+    itemA.setPrice(7000);
+    itemRepository.save(itemA);
+    a = stats(shopA);
+    assertEquals(6000, a.getMinPrice());
+    assertEquals(7000, a.getMaxPrice());
+
+    // 재고 예약 (벌크 UPDATE, Item 하나)
+    assertTrue(itemRepository.reserveStock(itemC.getId(), 15));
+    assertEquals(25, stats(shopB).getTotalStock());
+
+    // 삭제
+    itemRepository.delete(itemC);
+    assertNull(stats(shopB));
+
+    // 벌크 변경 후에는 변경 기록에서 바뀐 Item만 다시 읽는다.
+    ItemSearchParams searchParams = new ItemSearchParams();
+    searchParams.setShopId(shopA.getId());
+    itemRepository.updateStock(searchParams, 0);
+    assertEquals(0, stats(shopA).getTotalStock());
+  }
+
+  // 늦게 도착한 이전 변경(version이 더 작은 이벤트)은 반영하지 않는다.
+  @Test
+  public void staleEventIsIgnored() {
+    Shop shopA = shopRepository.save(Shop.builder().name("shopA").build());
+    Item itemA = itemRepository.save(Item.builder().shop(shopA).name("itemA").price(5000).stock(20).build());
+    itemA.setPrice(7000);
+    itemRepository.save(itemA);
+    assertEquals(7000, stats(shopA).getMaxPrice());
+
+    Item stale = Item.builder().shop(shopA).name("itemA").price(5000).stock(20).build();
+    ReflectionTestUtils.setField(stale, "id", itemA.getId());
+    aggregator.onItemChanged(ItemChangedEvent.saved(stale, 0));
+    assertEquals(7000, stats(shopA).getMaxPrice());
+
+    // 삭제된 Item의 이전 변경도 되살리지 않는다.
+    itemRepository.delete(itemA);
+    aggregator.onItemChanged(ItemChangedEvent.saved(stale, 0));
+    assertNull(stats(shopA));
+  }
+
+  // 같은 Item이 동시에 여러번 변경되어도, 마지막에는 DB의 최신 값이 반영되어 있다.
+  // (refresh가 순서 없이 섞이면 오래된 값이 나중에 반영될 수 있다.)
+  @Test
+  public void concurrentRefreshesOfOneItem() throws Exception {
+    Shop shopA = shopRepository.save(Shop.builder().name("shopA").build());
+    Item hot = itemRepository.save(Item.builder().shop(shopA).name("hot").price(1000).stock(1000).build());
+
+    int threads = 8;
+    int reservations = 20;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < reservations; i++) assertTrue(itemRepository.reserveStock(hot.getId(), 1));
+        }));
+      }
+      for (Future<?> future : futures) future.get();
+    } finally {
+      executor.shutdown();
+    }
+
+    int stock = itemRepository.findById(hot.getId()).orElseThrow().getStock();
+    assertEquals(1000 - threads * reservations, stock);
+    assertEquals(stock, stats(shopA).getTotalStock());
+  }
+
+  private ShopStatsDto stats(Shop shop) {
+    // 변경은 다른 스레드에서 반영된다.
+    aggregator.flush();
+    List<ShopStatsDto> stats = aggregator.snapshot(Map.of());
+    return stats.stream()
+      .filter(found -> found.getShopId().equals(shop.getId()))
+      .findFirst()
+      .orElse(null);
+  }
+}
@@ -0,0 +1,111 @@
+package com.example.querydsl;
+
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.sql.StatementBudgetFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 요청당 SQL 문장 수 예산 (StatementBudgetFilter)
+// : 작은 예산으로 확인한다. 요청마다 커밋되므로 @Transactional을 붙이지 않고, 별도의 DB를 사용한다.
+// /items/reserve는 Item마다 같은 UPDATE를 실행한다. (예약 n개 -> 같은 문장 n번)
+@SpringBootTest(properties = {
+  "spring.datasource.url=jdbc:h2:mem:statement-budget",
+  "item.sql.budget.max-statements=3",
+  "item.sql.budget.n-plus-one-threshold=3",
+  "item.search.parallel-count=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+public class StatementBudgetFilterTests {
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private StatementBudgetFilter budgetFilter;
+
+  @AfterEach
+  public void afterEach() {
+    ReflectionTestUtils.setField(budgetFilter, "mode", StatementBudgetFilter.Mode.LOG);
+    ReflectionTestUtils.setField(budgetFilter, "maxStatements", 3);
+    itemRepository.deleteAllInBatch();
+  }
+
+  // LOG: 예산을 넘어도 요청은 성공하고, 경고와 N+1 의심 로그를 남긴다.
+  @Test
+  public void logMode(CapturedOutput output) throws Exception {
+    String body = reservations(save(5));
+
+    mockMvc.perform(post("/items/reserve").contentType(MediaType.APPLICATION_JSON).content(body))
+      .andExpect(status().isOk());
+
+    assertTrue(itemRepository.findAll().stream().allMatch(item -> item.getStock() == 9));
+    assertTrue(output.getOut().contains("POST /items/reserve: "));
+    assertTrue(output.getOut().contains("(budget 3)"));
+    // (SQL 앞에 주석이 붙을 수 있다. use_sql_comments)
+    String out = output.getOut();
+    int report = out.indexOf("probable N+1, same statement executed 5 times: ");
+    assertTrue(report >= 0);
+    assertTrue(out.substring(report).toLowerCase().contains("update item"));
+  }
+
+  // REJECT: 예산을 넘는 SQL을 실행하기 전에 요청이 실패한다. (트랜잭션은 롤백된다.)
+  @Test
+  public void rejectMode() throws Exception {
+    ReflectionTestUtils.setField(budgetFilter, "mode", StatementBudgetFilter.Mode.REJECT);
+    String body = reservations(save(5));
+
+    mockMvc.perform(post("/items/reserve").contentType(MediaType.APPLICATION_JSON).content(body))
+      .andExpect(status().isInternalServerError());
+
+    assertTrue(itemRepository.findAll().stream().allMatch(item -> item.getStock() == 10));
+  }
+
+  // 다른 스레드(searchCountExecutor)에서 실행된 Count 쿼리도 요청의 문장 수에 포함된다.
+  // : 두번째 페이지 -> content + count = 2
+  @Test
+  public void parallelCountIsCounted(CapturedOutput output) throws Exception {
+    ReflectionTestUtils.setField(budgetFilter, "maxStatements", 1);
+    save(5);
+
+    mockMvc.perform(get("/search-p?priceFloor=1&page=1&size=2"))
+      .andExpect(status().isOk());
+
+    assertTrue(output.getOut().contains("GET /search-p: 2 SQL statements (budget 1)"));
+  }
+
+  private List<Long> save(int count) {
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ids.add(itemRepository.save(Item.builder().name("item" + i).price(1000).stock(10).build()).getId());
+    }
+    return ids;
+  }
+
+  private static String reservations(List<Long> ids) {
+    return ids.stream()
+      .map(id -> "{\"itemId\": " + id + ", \"quantity\": 1}")
+      .collect(Collectors.joining(", ", "[", "]"));
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.querydsl;
+
+import com.example.querydsl.sql.StatementCounter;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 테스트에서 실행된 SQL 문장 수를 확인하기 위한 JUnit 확장
+// @ExtendWith(StatementCountExtension.class)를 붙이고
+// 테스트 메서드에 StatementCountExtension.Statements 파라미터를 받아서 사용한다.
+// (@Transactional 테스트에서도 같은 스레드에서 실행되므로 셀 수 있다.)
+public class StatementCountExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+  @Override
+  public void beforeEach(ExtensionContext context) {
+    StatementCounter.begin();
+  }
+
+  @Override
+  public void afterEach(ExtensionContext context) {
+    StatementCounter.end();
+  }
+
+  @Override
+  public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+    return parameterContext.getParameter().getType() == Statements.class;
+  }
+
+  @Override
+  public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+    return new Statements();
+  }
+
+  public static class Statements {
+    // call을 실행하는 동안 정확히 expected개의 SQL이 실행되었는지 확인한다.
+    public <T> T assertCount(int expected, Supplier<T> call) {
+      StatementCounter.Scope scope = StatementCounter.current();
+      scope.reset();
+      T result = call.get();
+      assertEquals(expected, scope.total(), "SQL statements");
+      return result;
+    }
+
+    // call이 정확히 한번의 SQL을 실행했는지 확인하고 그 SQL을 돌려준다. (바인딩 값은 ?)
+    public String captureSingle(Runnable call) {
+      assertCount(1, call);
+      return StatementCounter.current().statements().iterator().next();
+    }
+
+    public void assertCount(int expected, Runnable call) {
+      assertCount(expected, () -> {
+        call.run();
+        return null;
+      });
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ReservationResult;
+import com.example.querydsl.dto.StockReservation;
+import com.example.querydsl.entity.Item;
+import com.example.querydsl.repo.ItemRepository;
+import com.example.querydsl.service.StockReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 여러 스레드가 동시에 같은 Item의 재고를 예약해도 초과 판매(oversell)가 없어야 한다.
+// : 각 예약은 자신의 트랜잭션에서 커밋되어야 하므로 @Transactional을 붙이지 않는다.
+// : 별도의 DB를 사용하고, 락 대기 시간을 늘려둔다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:stress;LOCK_TIMEOUT=10000")
+@ActiveProfiles("test")
+public class StockReservationStressTests {
+  private static final int STOCK = 2000;
+
+  @Autowired
+  private ItemRepository itemRepository;
+  @Autowired
+  private StockReservationService reservationService;
+
+  private final List<Long> created = new ArrayList<>();
+
+  @AfterEach
+  public void afterEach() {
+    itemRepository.deleteAllById(created);
+    created.clear();
+  }
+
+  @Test
+  public void noOversell() throws Exception {
+    for (int threads : new int[]{1, 2, 4, 8, 16}) {
+      Item item = save(STOCK);
+      AtomicInteger reserved = new AtomicInteger();
+
+      long elapsed = runConcurrently(threads, () -> {
+        // 실패(재고 소진)할 때까지 1개씩 예약
+        while (itemRepository.reserveStock(item.getId(), 1)) reserved.incrementAndGet();
+      });
+
+      int remaining = itemRepository.findById(item.getId()).orElseThrow().getStock();
+      System.out.printf(
+        "threads: %2d, reserved: %d, remaining: %d, %.0f reservations/s%n",
+        threads, reserved.get(), remaining, reserved.get() / (elapsed / 1_000_000_000.0)
+      );
+      assertEquals(STOCK, reserved.get());
+      assertEquals(0, remaining);
+    }
+  }
+
+  // 여러 Item을 묶어서 예약 (allOrNothing)
+  @Test
+  public void batchAllOrNothing() throws Exception {
+    Item first = save(100);
+    Item second = save(50);
+    AtomicInteger committed = new AtomicInteger();
+
+    runConcurrently(8, () -> {
+      while (true) {
+        ReservationResult result = reservationService.reserveAll(List.of(
+          new StockReservation(second.getId(), 1),
+          new StockReservation(first.getId(), 2)
+        ), true);
+        if (!result.isCommitted()) break;
+        committed.incrementAndGet();
+      }
+    });
+
+    // 두 Item 모두 50번 만에 소진되고, 그 이후의 요청은 전부 취소된다.
+    assertEquals(50, committed.get());
+    assertEquals(0, itemRepository.findById(first.getId()).orElseThrow().getStock());
+    assertEquals(0, itemRepository.findById(second.getId()).orElseThrow().getStock());
+  }
+
+  private Item save(int stock) {
+    Item item = itemRepository.save(Item.builder()
+      .name("flash-sale")
+      .price(1000)
+      .stock(stock)
+      .build());
+    created.add(item.getId());
+    return item;
+  }
+
+  // threads개의 스레드에서 동시에 task를 실행하고 걸린 시간(ns)을 반환
+  private long runConcurrently(int threads, Runnable task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch ready = new CountDownLatch(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      futures.add(executor.submit(() -> {
+        ready.countDown();
+        start.await();
+        task.run();
+        return null;
+      }));
+    }
+    ready.await();
+    long begin = System.nanoTime();
+    start.countDown();
+    for (Future<?> future : futures) future.get(60, TimeUnit.SECONDS);
+    long elapsed = System.nanoTime() - begin;
+    executor.shutdown();
+    return elapsed;
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.querydsl;
+
+import com.example.querydsl.dto.ItemCreateDto;
+import com.example.querydsl.service.ItemBulkService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 플랫폼 스레드(Tomcat 스레드 풀) vs 가상 스레드의 처리량, p99 지연시간 비교
+// : PlatformThreadLoadTests, VirtualThreadLoadTests
+// ./gradlew test -PloadTest --tests '*ThreadLoadTests'
+// (가상 스레드 쪽은 Java 21 이상에서만 실행된다. -PvirtualThreads)
+@Tag("load")
+public abstract class ThreadModeLoadTests {
+  // 동시 클라이언트 수 (Tomcat 기본 스레드 수 200보다 많게)
+  static final int CLIENTS = 400;
+  static final int REQUESTS = 50;
+
+  @LocalServerPort
+  int port;
+  @Autowired
+  ItemBulkService bulkService;
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  public void seed() {
+    jdbcTemplate.update("DELETE FROM item");
+    List<ItemCreateDto> items = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      items.add(new ItemCreateDto("item" + i % 100, null, 1000 + i, i % 50, null));
+    }
+    bulkService.ingest(items);
+  }
+
+  @Test
+  public void searchLoad() throws Exception {
+    HttpLoadRunner runner = new HttpLoadRunner();
+    // 매번 다른 조건으로 요청해서 검색 결과 캐시를 거의 타지 않도록
+    HttpLoadRunner.Result result = runner.run(CLIENTS, REQUESTS, i -> HttpLoadRunner.get(
+      "http://localhost:" + port + "/search-p?priceFloor=" + (1000 + i % 9000) + "&page=1&size=20"
+    ));
+    System.out.printf("[%s] %s%n", getClass().getSimpleName(), result);
+  }
+}
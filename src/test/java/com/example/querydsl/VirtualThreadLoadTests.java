@@ -0,0 +1,15 @@
+package com.example.querydsl;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+  properties = "spring.datasource.url=jdbc:h2:mem:load-virtual"
+)
+@ActiveProfiles({"test", "vthreads"})
+public class VirtualThreadLoadTests extends ThreadModeLoadTests {
+}